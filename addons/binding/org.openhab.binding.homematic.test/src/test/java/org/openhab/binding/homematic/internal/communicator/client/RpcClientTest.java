@@ -21,6 +21,10 @@ import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
 import static org.openhab.binding.homematic.test.util.RpcClientMockImpl.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.smarthome.test.java.JavaTest;
 import org.junit.Before;
@@ -28,6 +32,7 @@ import org.junit.Test;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
 import org.openhab.binding.homematic.internal.communicator.message.XmlRpcRequest;
 import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmInterface;
 import org.openhab.binding.homematic.internal.model.HmParamsetType;
 import org.openhab.binding.homematic.test.util.RpcClientMockImpl;
 
@@ -94,6 +99,44 @@ public class RpcClientTest extends JavaTest {
         assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_NAME), is(0));
     }
 
+    @Test
+    public void paramsetDescriptionsAreLoadedWithOneMulticall() throws IOException {
+        List<HmChannel> channels = Arrays.asList(createDimmerHmChannel(), createDimmerHmChannel());
+
+        Map<HmChannel, MulticallResult> results = rpcClient.getParamsetDescriptions(HmInterface.RF, channels,
+                HmParamsetType.VALUES);
+
+        assertThat(results.size(), is(2));
+        assertThat(rpcClient.numberOfCalls.get(SYSTEM_MULTICALL_NAME), is(1));
+        assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_DESCRIPTION_NAME), is(2));
+    }
+
+    @Test
+    public void valuesParamsetDescriptionIsNotLoadedForDummyChannelWithMulticall() throws IOException {
+        List<HmChannel> channels = Arrays.asList(createDimmerDummyChannel());
+
+        Map<HmChannel, MulticallResult> results = rpcClient.getParamsetDescriptions(HmInterface.RF, channels,
+                HmParamsetType.VALUES);
+
+        assertThat(results.size(), is(0));
+        assertThat(rpcClient.numberOfCalls.get(SYSTEM_MULTICALL_NAME), is(0));
+    }
+
+    @Test
+    public void paramsetsAreLoadedWithMulticallsOfLimitedSize() throws IOException {
+        List<HmChannel> channels = new ArrayList<HmChannel>();
+        for (int i = 0; i <= RpcClient.MAX_MULTICALL_SIZE; i++) {
+            channels.add(createDimmerHmChannel());
+        }
+
+        Map<HmChannel, MulticallResult> results = rpcClient.getParamsets(HmInterface.RF, channels,
+                HmParamsetType.MASTER);
+
+        assertThat(results.size(), is(channels.size()));
+        assertThat(rpcClient.numberOfCalls.get(SYSTEM_MULTICALL_NAME), is(2));
+        assertThat(rpcClient.numberOfCalls.get(GET_PARAMSET_NAME), is(channels.size()));
+    }
+
     @Test
     public void burstRxModeIsConfiguredAsParameterOnRequest() throws IOException {
         RpcRequest<String> request = new XmlRpcRequest("setValue");
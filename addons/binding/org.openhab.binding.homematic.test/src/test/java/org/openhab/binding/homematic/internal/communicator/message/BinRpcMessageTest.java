@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinRpcMessage}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcMessageTest {
+    private static final String ENCODING = "UTF-8";
+
+    @Test
+    public void encodedRequestIsDecodedToSameValues() throws Exception {
+        Map<String, Object> struct = new HashMap<>();
+        struct.put("LEVEL", 0.5);
+        struct.put("NAMES", Arrays.asList("Küche", "Bad"));
+        Date date = new Date(2000000000000L);
+
+        BinRpcMessage request = new BinRpcMessage("event", ENCODING);
+        request.addArg("BidCos-RF");
+        request.addArg("NEQ0000001:1");
+        request.addArg(42);
+        request.addArg(-3.25);
+        request.addArg(true);
+        request.addArg(date);
+        request.addArg(struct);
+
+        BinRpcMessage message = new BinRpcMessage(request.createMessage(), true, ENCODING);
+
+        assertThat(message.getMethodName(), is("event"));
+        Object[] data = message.getResponseData();
+        assertThat(data.length, is(7));
+        assertThat(data[0], is("BidCos-RF"));
+        assertThat(data[1], is("NEQ0000001:1"));
+        assertThat(data[2], is(42));
+        assertThat(data[3], is(-3.25));
+        assertThat(data[4], is(true));
+        assertThat(data[5], is(date));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> decodedStruct = (Map<String, Object>) data[6];
+        assertThat(decodedStruct.get("LEVEL"), is(0.5));
+        assertThat((Object[]) decodedStruct.get("NAMES"), is(new Object[] { "Küche", "Bad" }));
+    }
+
+    @Test
+    public void messagesAreDecodedFromStreamAndBuffer() throws Exception {
+        BinRpcMessage request = new BinRpcMessage("listDevices", ENCODING);
+        request.addArg("BidCos-RF");
+        byte[] data = request.createMessage();
+
+        BinRpcMessage fromStream = new BinRpcMessage(new ByteArrayInputStream(data), true, ENCODING);
+        assertThat(fromStream.getMethodName(), is("listDevices"));
+        assertThat(fromStream.getResponseData(), is(new Object[] { "BidCos-RF" }));
+
+        ByteBuffer buffer = ByteBuffer.allocate(data.length * 2);
+        buffer.put(data).put(data).flip();
+        buffer.limit(data.length);
+        BinRpcMessage fromBuffer = new BinRpcMessage(buffer, true, ENCODING);
+        assertThat(fromBuffer.getMethodName(), is("listDevices"));
+        assertThat(fromBuffer.getResponseData(), is(new Object[] { "BidCos-RF" }));
+    }
+
+    @Test
+    public void messageLengthIsReadFromHeader() {
+        BinRpcMessage request = new BinRpcMessage("init", ENCODING);
+        request.addArg("http://127.0.0.1:9126");
+        byte[] data = request.createMessage();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        assertThat(BinRpcMessage.hasBinXSignature(buffer), is(true));
+        assertThat(BinRpcMessage.getMessageLength(buffer, 7), is(-1));
+        assertThat(BinRpcMessage.getMessageLength(buffer, data.length), is(data.length));
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedMessageIsRejected() throws Exception {
+        BinRpcMessage request = new BinRpcMessage("event", ENCODING);
+        request.addArg("BidCos-RF");
+        byte[] data = request.createMessage();
+
+        new BinRpcMessage(Arrays.copyOf(data, data.length - 2), true, ENCODING);
+    }
+}
@@ -13,8 +13,10 @@
 package org.openhab.binding.homematic.test.util;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
@@ -25,6 +27,7 @@ public class RpcClientMockImpl extends RpcClient<String> {
 
     public static final String GET_PARAMSET_DESCRIPTION_NAME = "getParamsetDescription";
     public static final String GET_PARAMSET_NAME = "getParamset";
+    public static final String SYSTEM_MULTICALL_NAME = "system.multicall";
 
     public Map<String, Integer> numberOfCalls = new HashMap<String, Integer>();
 
@@ -35,7 +38,8 @@ public class RpcClientMockImpl extends RpcClient<String> {
     public RpcClientMockImpl(HomematicConfig config) throws IOException {
         super(config);
 
-        Arrays.asList(GET_PARAMSET_DESCRIPTION_NAME, GET_PARAMSET_NAME).forEach(method -> numberOfCalls.put(method, 0));
+        Arrays.asList(GET_PARAMSET_DESCRIPTION_NAME, GET_PARAMSET_NAME, SYSTEM_MULTICALL_NAME)
+                .forEach(method -> numberOfCalls.put(method, 0));
     }
 
     @Override
@@ -44,6 +48,9 @@ public class RpcClientMockImpl extends RpcClient<String> {
 
         increaseNumberOfCalls(methodName);
 
+        if (SYSTEM_MULTICALL_NAME.equals(methodName)) {
+            return mockMulticallResponse((List<?>) ((MockRpcRequest) request).args.get(0));
+        }
         return mockResponse();
     }
 
@@ -62,25 +69,42 @@ public class RpcClientMockImpl extends RpcClient<String> {
         return response;
     }
 
+    private Object[] mockMulticallResponse(List<?> calls) {
+        Object[] results = new Object[calls.size()];
+        for (int i = 0; i < calls.size(); i++) {
+            increaseNumberOfCalls((String) ((Map<?, ?>) calls.get(i)).get("methodName"));
+            results[i] = mockResponse();
+        }
+        return new Object[] { results };
+    }
+
     @Override
     protected RpcRequest<String> createRpcRequest(String methodName) {
-        return new RpcRequest<String>() {
+        return new MockRpcRequest(methodName);
+    }
 
-            @Override
-            public void addArg(Object arg) {
-            }
+    private static class MockRpcRequest implements RpcRequest<String> {
+        private final String methodName;
+        private final List<Object> args = new ArrayList<Object>();
 
-            @Override
-            public String createMessage() {
-                return null;
-            }
+        public MockRpcRequest(String methodName) {
+            this.methodName = methodName;
+        }
 
-            @Override
-            public String getMethodName() {
-                return methodName;
-            }
+        @Override
+        public void addArg(Object arg) {
+            args.add(arg);
+        }
 
-        };
+        @Override
+        public String createMessage() {
+            return null;
+        }
+
+        @Override
+        public String getMethodName() {
+            return methodName;
+        }
     }
 
     @Override
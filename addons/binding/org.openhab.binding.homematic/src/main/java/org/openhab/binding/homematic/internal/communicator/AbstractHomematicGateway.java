@@ -25,6 +25,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -34,10 +39,14 @@ import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.client.BinRpcClient;
+import org.openhab.binding.homematic.internal.communicator.client.MulticallResult;
 import org.openhab.binding.homematic.internal.communicator.client.RpcClient;
 import org.openhab.binding.homematic.internal.communicator.client.TransferMode;
 import org.openhab.binding.homematic.internal.communicator.client.UnknownParameterSetException;
+import org.openhab.binding.homematic.internal.communicator.client.UnknownRpcFailureException;
 import org.openhab.binding.homematic.internal.communicator.client.XmlRpcClient;
+import org.openhab.binding.homematic.internal.communicator.parser.GetParamsetDescriptionParser;
+import org.openhab.binding.homematic.internal.communicator.parser.GetParamsetParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.server.BinRpcServer;
 import org.openhab.binding.homematic.internal.communicator.server.RpcEventListener;
@@ -90,6 +99,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final int MAX_PARALLEL_METADATA_LOADS = 4;
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<TransferMode, RpcClient<?>>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<TransferMode, RpcServer>();
@@ -106,11 +116,12 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<String, HmDevice>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<HmInterface, TransferMode>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<VirtualDatapointHandler>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final DeviceMetadataCache metadataCache;
 
     static {
         // loads all virtual datapoints
@@ -139,6 +150,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.metadataCache = new DeviceMetadataCache(id);
     }
 
     @Override
@@ -370,11 +382,67 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         cancelLoadAllMetadata = false;
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
+        metadataCache.load(config.getGatewayInfo().getFirmware());
 
-        // loading datapoints for all channels
-        Set<String> loadedDevices = new HashSet<String>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<String, Collection<HmDatapoint>>();
+        // loading datapoints for all channels, the interfaces are loaded in parallel
+        Map<HmInterface, List<HmDevice>> devicesByInterface = new TreeMap<HmInterface, List<HmDevice>>();
         for (HmDevice device : deviceDescriptions) {
+            devicesByInterface.computeIfAbsent(device.getHmInterface(), hmInterface -> new ArrayList<HmDevice>())
+                    .add(device);
+        }
+        Set<String> loadedDevices = ConcurrentHashMap.newKeySet();
+        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        // a pool of its own, the loads take long and must not block the tasks of the shared gateway pool
+        ExecutorService loader = Executors
+                .newFixedThreadPool(Math.max(1, Math.min(devicesByInterface.size(), MAX_PARALLEL_METADATA_LOADS)));
+        try {
+            for (Entry<HmInterface, List<HmDevice>> entry : devicesByInterface.entrySet()) {
+                futures.add(loader.submit(() -> loadDeviceMetadata(entry.getKey(), entry.getValue(), loadedDevices,
+                        datapointsByChannelIdCache)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancelLoadAllMetadata = true;
+        } catch (ExecutionException ex) {
+            cancelLoadAllMetadata = true;
+            throw new IOException(ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            // stops the loads of the other interfaces if one of them failed or the loading was interrupted
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            loader.shutdown();
+            metadataCache.save();
+        }
+
+        if (!cancelLoadAllMetadata) {
+            devices.keySet().retainAll(loadedDevices);
+        }
+        initialized = true;
+    }
+
+    /**
+     * Loads the metadata of all devices of an interface. The paramset descriptions which are not cached are loaded
+     * with system.multicall requests first.
+     */
+    private void loadDeviceMetadata(HmInterface hmInterface, List<HmDevice> interfaceDevices, Set<String> loadedDevices,
+            Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache) {
+        Map<HmChannel, Object> masterDescriptions = new HashMap<HmChannel, Object>();
+        Map<HmChannel, Object> valuesDescriptions = new HashMap<HmChannel, Object>();
+        try {
+            masterDescriptions = loadParamsetDescriptions(hmInterface, interfaceDevices, HmParamsetType.MASTER);
+            valuesDescriptions = loadParamsetDescriptions(hmInterface, interfaceDevices, HmParamsetType.VALUES);
+        } catch (IOException ex) {
+            // the paramset descriptions are loaded channel by channel
+            logger.debug("Can't load paramset descriptions of interface '{}' from gateway '{}': {}", hmInterface, id,
+                    ex.getMessage());
+        }
+
+        for (HmDevice device : interfaceDevices) {
             if (!cancelLoadAllMetadata) {
                 try {
                     logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(),
@@ -386,21 +454,19 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                         for (HmChannel channel : device.getChannels()) {
                             logger.trace("  Loading channel {}", channel);
                             // speed up metadata generation a little bit for equal channels in the gateway devices
-                            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
-                                    || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
+                            if (isClonedChannel(channel)) {
                                 HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
                                 cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
                             } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
+                                String channelId = getChannelId(channel);
                                 Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
                                 if (cachedDatapoints != null) {
                                     // clone all datapoints
                                     cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
                                 } else {
                                     logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
+                                    addChannelDatapoints(channel, HmParamsetType.MASTER, masterDescriptions);
+                                    addChannelDatapoints(channel, HmParamsetType.VALUES, valuesDescriptions);
 
                                     // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
                                     // the data point set might change depending on the selected mode.
@@ -420,10 +486,83 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                 }
             }
         }
-        if (!cancelLoadAllMetadata) {
-            devices.keySet().retainAll(loadedDevices);
+    }
+
+    /**
+     * Loads the paramset descriptions of the channels which are neither cached nor cloned with system.multicall
+     * requests. Descriptions of reconfigurable channels depend on the selected mode, so they are returned instead of
+     * being cached.
+     */
+    private Map<HmChannel, Object> loadParamsetDescriptions(HmInterface hmInterface, List<HmDevice> interfaceDevices,
+            HmParamsetType paramsetType) throws IOException {
+        List<HmChannel> channels = new ArrayList<HmChannel>();
+        Set<String> channelIds = new HashSet<String>();
+        for (HmDevice device : interfaceDevices) {
+            if (!device.isGatewayExtras()) {
+                for (HmChannel channel : device.getChannels()) {
+                    if (!isClonedChannel(channel) && (channel.isReconfigurable()
+                            || (metadataCache.get(channel, paramsetType) == null
+                                    && channelIds.add(getChannelId(channel))))) {
+                        channels.add(channel);
+                    }
+                }
+            }
+        }
+
+        Map<HmChannel, Object> reconfigurableDescriptions = new HashMap<HmChannel, Object>();
+        if (channels.isEmpty() || cancelLoadAllMetadata) {
+            return reconfigurableDescriptions;
+        }
+        logger.debug("Loading {} paramset descriptions of interface '{}' from gateway '{}'", channels.size(),
+                hmInterface, id);
+        Map<HmChannel, MulticallResult> results = getRpcClient(hmInterface).getParamsetDescriptions(hmInterface,
+                channels, paramsetType);
+        for (Entry<HmChannel, MulticallResult> entry : results.entrySet()) {
+            try {
+                Object description = entry.getValue().getResponseData()[0];
+                if (description instanceof Map) {
+                    if (entry.getKey().isReconfigurable()) {
+                        reconfigurableDescriptions.put(entry.getKey(), description);
+                    } else {
+                        metadataCache.put(entry.getKey(), paramsetType, description);
+                    }
+                }
+            } catch (IOException ex) {
+                // loaded again with a single request, which handles the fallbacks of the gateway
+            }
+        }
+        return reconfigurableDescriptions;
+    }
+
+    /**
+     * Returns true, if the datapoints of the channel are cloned from the previous channel of the device.
+     */
+    private boolean isClonedChannel(HmChannel channel) {
+        String deviceType = channel.getDevice().getType();
+        return (DEVICE_TYPE_VIRTUAL.equals(deviceType) || DEVICE_TYPE_VIRTUAL_WIRED.equals(deviceType))
+                && channel.getNumber() > 1;
+    }
+
+    /**
+     * Returns the id of channels with the same datapoints.
+     */
+    private String getChannelId(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Adds the datapoints of a loaded or cached paramset description to the channel or loads them from the gateway.
+     */
+    private void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType,
+            Map<HmChannel, Object> reconfigurableDescriptions) throws IOException {
+        Object description = channel.isReconfigurable() ? reconfigurableDescriptions.get(channel)
+                : metadataCache.get(channel, paramsetType);
+        if (description != null) {
+            new GetParamsetDescriptionParser(channel, paramsetType).parse(new Object[] { description });
+        } else {
+            addChannelDatapoints(channel, paramsetType);
         }
-        initialized = true;
     }
 
     /**
@@ -495,6 +634,38 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         channel.setInitialized(true);
     }
 
+    @Override
+    public void loadDeviceValues(HmDevice device) throws IOException {
+        List<HmChannel> channels = new ArrayList<HmChannel>();
+        for (HmChannel channel : device.getChannels()) {
+            if (!channel.isInitialized()) {
+                channels.add(channel);
+            }
+        }
+        if (device.isGatewayExtras()) {
+            for (HmChannel channel : channels) {
+                loadChannelValues(channel);
+            }
+            return;
+        }
+
+        RpcClient<?> rpcClient = getRpcClient(device.getHmInterface());
+        Map<HmChannel, MulticallResult> masterParamsets = rpcClient.getParamsets(device.getHmInterface(), channels,
+                HmParamsetType.MASTER);
+        Map<HmChannel, MulticallResult> valuesParamsets = rpcClient.getParamsets(device.getHmInterface(), channels,
+                HmParamsetType.VALUES);
+        for (HmChannel channel : channels) {
+            logger.debug("Loading values for channel {} of device '{}'", channel, device.getAddress());
+            setChannelDatapointValues(channel, HmParamsetType.MASTER, masterParamsets.get(channel));
+            setChannelDatapointValues(channel, HmParamsetType.VALUES, valuesParamsets.get(channel));
+
+            for (HmDatapoint dp : channel.getDatapoints()) {
+                handleVirtualDatapointEvent(dp, false);
+            }
+            channel.setInitialized(true);
+        }
+    }
+
     @Override
     public void updateChannelValueDatapoints(HmChannel channel) throws IOException {
         logger.debug("Updating value datapoints for channel {} of device '{}', has {} datapoints before", channel,
@@ -522,6 +693,22 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         }
     }
 
+    /**
+     * Sets the datapoint values of a paramset loaded with a system.multicall request or loads them from the gateway.
+     */
+    private void setChannelDatapointValues(HmChannel channel, HmParamsetType paramsetType, MulticallResult paramset)
+            throws IOException {
+        if (paramset != null) {
+            try {
+                new GetParamsetParser(channel, paramsetType).parse(paramset.getResponseData());
+                return;
+            } catch (UnknownRpcFailureException | UnknownParameterSetException ex) {
+                // loaded again with a single request, which handles the fallbacks of the gateway
+            }
+        }
+        setChannelDatapointValues(channel, paramsetType);
+    }
+
     @Override
     public void loadDatapointValue(HmDatapoint dp) throws IOException {
         getRpcClient(dp.getChannel().getDevice().getHmInterface()).getDatapointValue(dp);
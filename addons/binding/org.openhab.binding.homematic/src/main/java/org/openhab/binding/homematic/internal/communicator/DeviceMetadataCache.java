@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache for the paramset descriptions of the devices of a gateway. A paramset description only changes
+ * with the firmware of a device, so the descriptions are stored by device type, firmware, channel number and paramset
+ * and a restart doesn't have to load them from the gateway again. All descriptions are dropped if the firmware of the
+ * gateway has changed.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceMetadataCache {
+    private final Logger logger = LoggerFactory.getLogger(DeviceMetadataCache.class);
+    private static final int VERSION = 1;
+    private static final String CACHE_FOLDER_NAME = "homematic";
+
+    private final File file;
+    private final Map<String, Object> descriptions = new ConcurrentHashMap<String, Object>();
+    private String gatewayFirmware;
+    private boolean loaded;
+    private volatile boolean modified;
+
+    public DeviceMetadataCache(String gatewayId) {
+        file = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), gatewayId + ".metadata");
+    }
+
+    /**
+     * Returns the cached paramset description of the channel or null, if it is not cached.
+     */
+    public Object get(HmChannel channel, HmParamsetType paramsetType) {
+        return descriptions.get(getKey(channel, paramsetType));
+    }
+
+    /**
+     * Caches the paramset description of the channel.
+     */
+    public void put(HmChannel channel, HmParamsetType paramsetType, Object description) {
+        descriptions.put(getKey(channel, paramsetType), description);
+        modified = true;
+    }
+
+    /**
+     * Reads the cached paramset descriptions from disk, if they have been stored for the given gateway firmware.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void load(String gatewayFirmware) {
+        if (loaded && Objects.equals(this.gatewayFirmware, gatewayFirmware)) {
+            return;
+        }
+        loaded = true;
+        this.gatewayFirmware = gatewayFirmware;
+        descriptions.clear();
+        if (!file.exists()) {
+            return;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() == VERSION && Objects.equals(in.readObject(), gatewayFirmware)) {
+                descriptions.putAll((Map<String, Object>) in.readObject());
+                logger.debug("Loaded {} cached paramset descriptions from '{}'", descriptions.size(), file);
+            } else {
+                logger.debug("Ignoring cached paramset descriptions from '{}', gateway firmware has changed", file);
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            logger.debug("Can't read cached paramset descriptions from '{}': {}", file, ex.getMessage());
+            descriptions.clear();
+        }
+    }
+
+    /**
+     * Writes the paramset descriptions to disk, if they have been modified.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        modified = false;
+        file.getParentFile().mkdirs();
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(VERSION);
+            out.writeObject(gatewayFirmware);
+            out.writeObject(new HashMap<String, Object>(descriptions));
+            logger.debug("Stored {} paramset descriptions in '{}'", descriptions.size(), file);
+        } catch (IOException ex) {
+            logger.warn("Can't write cached paramset descriptions to '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the key of the paramset description of the channel.
+     */
+    private String getKey(HmChannel channel, HmParamsetType paramsetType) {
+        return String.format("%s:%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber(), paramsetType);
+    }
+}
@@ -64,6 +64,11 @@ public interface HomematicGateway {
      */
     public void loadChannelValues(HmChannel channel) throws IOException;
 
+    /**
+     * Loads all values into the channels of the given device which are not initialized.
+     */
+    public void loadDeviceValues(HmDevice device) throws IOException;
+
     /**
      * Loads the value of the given {@link HmDatapoint} from the device.
      * 
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.client;
+
+import java.io.IOException;
+
+/**
+ * The result of a single call of a system.multicall request, which is either the response data of the call or the
+ * exception of the fault returned for it.
+ *
+ * @author agent - Initial contribution
+ */
+public class MulticallResult {
+    private Object[] responseData;
+    private IOException exception;
+
+    public MulticallResult(Object[] responseData) {
+        this.responseData = responseData;
+    }
+
+    public MulticallResult(IOException exception) {
+        this.exception = exception;
+    }
+
+    /**
+     * Returns the response data of the call or throws the exception of the fault returned for it.
+     */
+    public Object[] getResponseData() throws IOException {
+        if (exception != null) {
+            throw exception;
+        }
+        return responseData;
+    }
+}
@@ -15,8 +15,11 @@ package org.openhab.binding.homematic.internal.communicator.client;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +36,7 @@ import org.openhab.binding.homematic.internal.communicator.parser.GetValueParser
 import org.openhab.binding.homematic.internal.communicator.parser.HomegearLoadDeviceNamesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.parser.ListDevicesParser;
+import org.openhab.binding.homematic.internal.communicator.parser.RpcResponseParser;
 import org.openhab.binding.homematic.internal.communicator.parser.RssiInfoParser;
 import org.openhab.binding.homematic.internal.model.HmChannel;
 import org.openhab.binding.homematic.internal.model.HmDatapoint;
@@ -52,6 +56,7 @@ import org.slf4j.LoggerFactory;
 public abstract class RpcClient<T> {
     private final Logger logger = LoggerFactory.getLogger(RpcClient.class);
     protected static final int MAX_RPC_RETRY = 1;
+    protected static final int MAX_MULTICALL_SIZE = 50;
 
     protected HomematicConfig config;
 
@@ -223,6 +228,94 @@ public abstract class RpcClient<T> {
         }
     }
 
+    /**
+     * Returns the paramset descriptions of the given channels of an interface, loaded with system.multicall requests.
+     * Channels without the paramset are not contained in the result.
+     */
+    public Map<HmChannel, MulticallResult> getParamsetDescriptions(HmInterface hmInterface,
+            Collection<HmChannel> channels, HmParamsetType paramsetType) throws IOException {
+        return multicall(hmInterface, "getParamsetDescription", channels, paramsetType);
+    }
+
+    /**
+     * Returns the paramsets of the given channels of an interface, loaded with system.multicall requests. Channels
+     * without the paramset or whose values can't be loaded with getParamset are not contained in the result.
+     */
+    public Map<HmChannel, MulticallResult> getParamsets(HmInterface hmInterface, Collection<HmChannel> channels,
+            HmParamsetType paramsetType) throws IOException {
+        if (hmInterface == HmInterface.CUXD && paramsetType == HmParamsetType.VALUES) {
+            return new LinkedHashMap<HmChannel, MulticallResult>();
+        }
+        return multicall(hmInterface, "getParamset", channels, paramsetType);
+    }
+
+    /**
+     * Calls the paramset method for all channels, at most {@link #MAX_MULTICALL_SIZE} calls per system.multicall
+     * request. If a gateway rejects a system.multicall request, the calls of the request are sent one by one.
+     */
+    private Map<HmChannel, MulticallResult> multicall(HmInterface hmInterface, String methodName,
+            Collection<HmChannel> channels, HmParamsetType paramsetType) throws IOException {
+        List<HmChannel> callChannels = new ArrayList<HmChannel>();
+        for (HmChannel channel : channels) {
+            if (!isConfigurationChannel(channel) || paramsetType == HmParamsetType.MASTER) {
+                callChannels.add(channel);
+            }
+        }
+
+        int port = config.getRpcPort(hmInterface);
+        Map<HmChannel, MulticallResult> results = new LinkedHashMap<HmChannel, MulticallResult>();
+        for (int start = 0; start < callChannels.size(); start += MAX_MULTICALL_SIZE) {
+            List<HmChannel> batch = callChannels.subList(start,
+                    Math.min(start + MAX_MULTICALL_SIZE, callChannels.size()));
+            List<Map<String, Object>> calls = new ArrayList<Map<String, Object>>(batch.size());
+            for (HmChannel channel : batch) {
+                Map<String, Object> call = new HashMap<String, Object>();
+                call.put("methodName", methodName);
+                call.put("params", Arrays.asList(
+                        getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel),
+                        paramsetType.toString()));
+                calls.add(call);
+            }
+
+            RpcRequest<T> request = createRpcRequest("system.multicall");
+            request.addArg(calls);
+            Object[] callResults;
+            try {
+                Object[] response = sendMessage(port, request);
+                if (!(response[0] instanceof Object[]) || ((Object[]) response[0]).length != batch.size()) {
+                    throw new IOException("Unexpected system.multicall response: " + response[0]);
+                }
+                callResults = (Object[]) response[0];
+            } catch (IOException ex) {
+                logger.debug("system.multicall failed on interface {}, sending {} calls one by one: {}", hmInterface,
+                        batch.size(), ex.getMessage());
+                callResults = null;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                HmChannel channel = batch.get(i);
+                RpcRequest<T> callRequest = createRpcRequest(methodName);
+                callRequest.addArg(getRpcAddress(channel.getDevice().getAddress()) + getChannelSuffix(channel));
+                callRequest.addArg(paramsetType.toString());
+                try {
+                    if (callResults == null) {
+                        results.put(channel, new MulticallResult(sendMessage(port, callRequest)));
+                    } else {
+                        // a successful call returns an array with the result, a failed one a fault struct
+                        Object callResult = callResults[i];
+                        Object[] responseData = callResult instanceof Object[] ? (Object[]) callResult
+                                : new Object[] { callResult };
+                        results.put(channel,
+                                new MulticallResult(new RpcResponseParser(callRequest).parse(responseData)));
+                    }
+                } catch (IOException ex) {
+                    results.put(channel, new MulticallResult(ex));
+                }
+            }
+        }
+        return results;
+    }
+
     /**
      * Tries to identify the gateway and returns the GatewayInfo.
      */
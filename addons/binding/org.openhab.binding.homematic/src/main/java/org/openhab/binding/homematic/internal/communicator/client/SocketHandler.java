@@ -15,8 +15,8 @@ package org.openhab.binding.homematic.internal.communicator.client;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.slf4j.Logger;
@@ -30,7 +30,7 @@ import org.slf4j.LoggerFactory;
 public class SocketHandler {
     private final Logger logger = LoggerFactory.getLogger(SocketHandler.class);
 
-    private Map<Integer, SocketInfo> socketsPerPort = new HashMap<Integer, SocketInfo>();
+    private Map<Integer, SocketInfo> socketsPerPort = new ConcurrentHashMap<Integer, SocketInfo>();
     private HomematicConfig config;
 
     public SocketHandler(HomematicConfig config) {
@@ -68,10 +68,9 @@ public class SocketHandler {
      * Removes the socket for the given port from the cache.
      */
     public void removeSocket(int port) {
-        SocketInfo socketInfo = socketsPerPort.get(port);
+        SocketInfo socketInfo = socketsPerPort.remove(port);
         if (socketInfo != null) {
             logger.trace("Closing Socket on port {}", port);
-            socketsPerPort.remove(port);
             closeSilent(socketInfo.getSocket());
         }
     }
@@ -14,6 +14,8 @@ package org.openhab.binding.homematic.internal.communicator.client;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.client.HttpClient;
@@ -36,6 +38,7 @@ import org.slf4j.LoggerFactory;
 public class XmlRpcClient extends RpcClient<String> {
     private final Logger logger = LoggerFactory.getLogger(XmlRpcClient.class);
     private HttpClient httpClient;
+    private final Map<Integer, Object> portLocks = new ConcurrentHashMap<Integer, Object>();
 
     public XmlRpcClient(HomematicConfig config, HttpClient httpClient) throws IOException {
         super(config);
@@ -60,18 +63,20 @@ public class XmlRpcClient extends RpcClient<String> {
     }
 
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
+    protected Object[] sendMessage(int port, RpcRequest<String> request) throws IOException {
         if (logger.isTraceEnabled()) {
             logger.trace("Client XmlRpcRequest (port {}):\n{}", port, request);
         }
-        return sendMessage(port, request, 0);
+        // the interfaces of a gateway are separate servers, only the requests to the same port are serialized
+        synchronized (portLocks.computeIfAbsent(port, p -> new Object())) {
+            return sendMessage(port, request, 0);
+        }
     }
 
     /**
      * Sends the message, retries if there was an error.
      */
-    private synchronized Object[] sendMessage(int port, RpcRequest<String> request, int rpcRetryCounter)
-            throws IOException {
+    private Object[] sendMessage(int port, RpcRequest<String> request, int rpcRetryCounter) throws IOException {
         try {
             BytesContentProvider content = new BytesContentProvider(
                     request.createMessage().getBytes(config.getEncoding()));
@@ -19,41 +19,40 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.apache.commons.lang.ArrayUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 /**
  * Handles BIN-RPC request and response messages to communicate with a Homematic gateway.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
-    private final Logger logger = LoggerFactory.getLogger(BinRpcMessage.class);
 
     public enum TYPE {
         REQUEST,
         RESPONSE;
     }
 
+    private static final int HEADER_LENGTH = 8;
+    private static final int INITIAL_CAPACITY = 256;
+
     private Object[] messageData;
-    private byte binRpcData[];
-    private int offset;
+    private ByteBuffer binRpcData;
+    private int argsPosition;
 
     private String methodName;
     private TYPE type;
     private int args;
-    private String encoding;
+    private Charset encoding;
 
     public BinRpcMessage(String methodName, String encoding) {
         this(methodName, TYPE.REQUEST, encoding);
@@ -65,7 +64,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     public BinRpcMessage(String methodName, TYPE type, String encoding) {
         this.methodName = methodName;
         this.type = type;
-        this.encoding = encoding;
+        this.encoding = Charset.forName(encoding);
         createHeader();
     }
 
@@ -73,89 +72,121 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      * Decodes a BIN-RPC message from the given InputStream.
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
-        this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
+        this.encoding = Charset.forName(encoding);
+        byte header[] = new byte[HEADER_LENGTH];
+        int length = readFully(is, header, 0, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading signature");
         }
-        validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
+        validateBinXSignature(header);
+        length = readFully(is, header, 4, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(ArrayUtils.subarray(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
-        int currentLength;
+        int datasize = ByteBuffer.wrap(header).getInt(4);
+        byte message[] = Arrays.copyOf(header, HEADER_LENGTH + datasize);
+        length = readFully(is, message, HEADER_LENGTH, datasize);
+        if (length != datasize) {
+            throw new EOFException("Only " + length + " bytes received while reading message payload, expected "
+                    + datasize + " bytes");
+        }
+        decodeMessage(ByteBuffer.wrap(message), methodHeader);
+    }
+
+    /**
+     * Decodes a BIN-RPC message from the given byte array.
+     */
+    public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
+        this(ByteBuffer.wrap(message), methodHeader, encoding);
+    }
 
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
+    /**
+     * Decodes a BIN-RPC message from the remaining bytes of the given buffer. The message is decoded completely, so the
+     * buffer can be reused afterwards.
+     */
+    public BinRpcMessage(ByteBuffer message, boolean methodHeader, String encoding) throws IOException {
+        this.encoding = Charset.forName(encoding);
+        if (message.remaining() < HEADER_LENGTH) {
+            throw new EOFException("Only " + message.remaining() + " bytes received");
         }
-        if (offset != datasize) {
-            throw new EOFException(
-                    "Only " + offset + " bytes received while reading message payload, expected " + datasize
-                            + " bytes");
+        decodeMessage(message.slice(), methodHeader);
+    }
+
+    /**
+     * Reads up to length bytes from the stream and returns the number of bytes read.
+     */
+    private static int readFully(InputStream is, byte[] data, int offset, int length) throws IOException {
+        int read = 0;
+        int currentLength;
+        while (read < length && (currentLength = is.read(data, offset + read, length - read)) != -1) {
+            read += currentLength;
         }
-        byte[] message = ArrayUtils.addAll(sig, payload);
-        decodeMessage(message, methodHeader);
+        return read;
     }
 
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
+    private static void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
         if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
             throw new UnsupportedEncodingException("No BinX signature");
         }
     }
 
     /**
-     * Decodes a BIN-RPC message from the given byte array.
+     * Returns true, if the buffer starts with a BIN-RPC signature.
      */
-    public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
-        this.encoding = encoding;
-        if (message.length < 8) {
-            throw new EOFException("Only " + message.length + " bytes received");
-        }
-        validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+    public static boolean hasBinXSignature(ByteBuffer buffer) {
+        return buffer.get(0) == 'B' && buffer.get(1) == 'i' && buffer.get(2) == 'n';
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
-        binRpcData = message;
-
-        offset = 8;
+    /**
+     * Returns the length of the complete message including the header or -1, if the header is not complete.
+     */
+    public static int getMessageLength(ByteBuffer buffer, int length) {
+        return length < HEADER_LENGTH ? -1 : HEADER_LENGTH + buffer.getInt(4);
+    }
 
-        if (methodHeader) {
-            methodName = readString();
-            readInt();
+    private void decodeMessage(ByteBuffer message, boolean methodHeader) throws IOException {
+        if (!hasBinXSignature(message)) {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+        message.position(HEADER_LENGTH);
+        try {
+            if (methodHeader) {
+                methodName = readString(message);
+                message.getInt();
+            }
+            generateResponseData(message);
+        } catch (BufferUnderflowException ex) {
+            throw new EOFException("Incomplete BIN-RPC message");
         }
-        generateResponseData();
     }
 
     public void setType(TYPE type) {
-        binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
+        binRpcData.put(3, type == TYPE.RESPONSE ? (byte) 1 : (byte) 0);
     }
 
-    private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
-        List<Object> values = new ArrayList<Object>();
-        while (offset < binRpcData.length) {
-            values.add(readRpcValue());
+    private void generateResponseData(ByteBuffer message) throws IOException {
+        int count = 0;
+        Object[] values = new Object[4];
+        while (message.hasRemaining()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = readRpcValue(message);
         }
-        messageData = values.toArray();
-        values.clear();
+        messageData = Arrays.copyOf(values, count);
     }
 
     private void createHeader() {
-        binRpcData = new byte[256];
-        addString("Bin ");
+        binRpcData = ByteBuffer.allocate(INITIAL_CAPACITY);
+        binRpcData.put((byte) 'B').put((byte) 'i').put((byte) 'n').put((byte) 0);
         setType(type);
         addInt(0); // placeholder content length
         if (methodName != null) {
-            addInt(methodName.length());
             addString(methodName);
+            argsPosition = binRpcData.position();
             addInt(0); // placeholder arguments
         }
-        setInt(4, offset - 8);
+        binRpcData.putInt(4, binRpcData.position() - HEADER_LENGTH);
     }
 
     /**
@@ -164,10 +195,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public void addArg(Object argument) {
         addObject(argument);
-        setInt(4, offset - 8);
+        binRpcData.putInt(4, binRpcData.position() - HEADER_LENGTH);
 
         if (methodName != null) {
-            setInt(12 + methodName.length(), ++args);
+            binRpcData.putInt(argsPosition, ++args);
         }
     }
 
@@ -182,14 +213,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     @Override
     public byte[] createMessage() {
-        trimBinRpcData();
-        return binRpcData;
-    }
-
-    private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        return Arrays.copyOf(binRpcData.array(), binRpcData.position());
     }
 
     @Override
@@ -198,82 +222,83 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
-    private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
-    }
-
-    private String readString() throws UnsupportedEncodingException {
-        int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+    private String readString(ByteBuffer message) {
+        int len = message.getInt();
+        if (len < 0 || len > message.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String string;
+        if (message.hasArray()) {
+            string = new String(message.array(), message.arrayOffset() + message.position(), len, encoding);
+            message.position(message.position() + len);
+        } else {
+            byte data[] = new byte[len];
+            message.get(data);
+            string = new String(data, encoding);
+        }
+        return string;
     }
 
-    private Object readRpcValue() throws IOException {
-        int type = readInt();
+    private Object readRpcValue(ByteBuffer message) throws IOException {
+        int type = message.getInt();
         switch (type) {
             case 1:
-                return new Integer(readInt());
+                return Integer.valueOf(message.getInt());
             case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
+                return message.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
-                return readString();
+                return readString(message);
             case 4:
-                int mantissa = readInt();
-                int exponent = readInt();
+                int mantissa = message.getInt();
+                int exponent = message.getInt();
                 BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
                 return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
             case 5:
-                return new Date(readInt() * 1000);
+                return new Date(message.getInt() * 1000L);
             case 0x100:
                 // Array
-                int numElements = readInt();
-                Collection<Object> array = new ArrayList<Object>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                int numElements = message.getInt();
+                if (numElements < 0 || numElements > message.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                Object[] array = new Object[numElements];
+                for (int i = 0; i < numElements; i++) {
+                    array[i] = readRpcValue(message);
                 }
-                return array.toArray();
+                return array;
             case 0x101:
                 // Struct
-                numElements = readInt();
+                numElements = message.getInt();
                 Map<String, Object> struct = new TreeMap<String, Object>();
                 while (numElements-- > 0) {
-                    String name = readString();
-                    struct.put(name, readRpcValue());
+                    String name = readString(message);
+                    struct.put(name, readRpcValue(message));
                 }
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
-                }
-                throw new IOException("Unknown data type " + type);
+                throw new IOException("Unknown data type " + type + " at position " + (message.position() - 4));
         }
     }
 
-    private void setInt(int position, int value) {
-        int temp = offset;
-        offset = position;
-        addInt(value);
-        offset = temp;
+    private void ensureCapacity(int length) {
+        if (binRpcData.remaining() < length) {
+            ByteBuffer newData = ByteBuffer
+                    .allocate(Math.max(binRpcData.capacity() * 2, binRpcData.position() + length));
+            binRpcData.flip();
+            newData.put(binRpcData);
+            binRpcData = newData;
+        }
     }
 
     private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
-        }
-        binRpcData[offset++] = b;
+        ensureCapacity(1);
+        binRpcData.put(b);
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData.putInt(value);
     }
 
     private void addDouble(double value) {
@@ -298,16 +323,14 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         addInt(exp);
     }
 
+    /**
+     * Adds the length of the encoded string and the encoded string.
+     */
     private void addString(String string) {
-        byte sd[];
-        try {
-            sd = string.getBytes(encoding);
-        } catch (UnsupportedEncodingException use) {
-            sd = string.getBytes();
-        }
-        for (byte ch : sd) {
-            addByte(ch);
-        }
+        byte sd[] = string.getBytes(encoding);
+        addInt(sd.length);
+        ensureCapacity(sd.length);
+        binRpcData.put(sd);
     }
 
     private void addList(Collection<?> collection) {
@@ -319,9 +342,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void addObject(Object object) {
         if (object.getClass() == String.class) {
             addInt(3);
-            String string = (String) object;
-            addInt(string.length());
-            addString(string);
+            addString((String) object);
         } else if (object.getClass() == Boolean.class) {
             addInt(2);
             addByte(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
@@ -343,7 +364,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             addDouble(((BigInteger) object).doubleValue());
         } else if (object.getClass() == Date.class) {
             addInt(5);
-            addInt((int) ((Date) object).getTime() / 1000);
+            addInt((int) (((Date) object).getTime() / 1000));
         } else if (object instanceof List<?>) {
             Collection<?> list = (Collection<?>) object;
             addInt(0x100);
@@ -356,9 +377,8 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             for (Map.Entry<?, ?> entry : map.entrySet()) {
                 String key = (String) entry.getKey();
                 if (key != null) {
-                    addInt(key.length());
                     addString(key);
-                    addList(Collections.singleton(entry.getValue()));
+                    addObject(entry.getValue());
                 }
             }
         }
@@ -371,8 +391,12 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
+            if (binRpcData != null) {
+                // a created message, dump its encoded data
+                BinRpcMessage message = new BinRpcMessage(ByteBuffer.wrap(createMessage()), methodName != null,
+                        encoding.name());
+                return RpcUtils.dumpRpcMessage(methodName, message.getResponseData());
+            }
             return RpcUtils.dumpRpcMessage(methodName, messageData);
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
@@ -12,32 +12,51 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and handles them. All connections are served by a single selector
+ * thread, which reads and decodes the messages. The method calls are handled in the thread pool and the results are
+ * written back by the selector thread.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Queue<Runnable> pendingChanges = new ConcurrentLinkedQueue<Runnable>();
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +64,18 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        selector = Selector.open();
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+            throw ex;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -74,31 +102,206 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Listening for events and dispatches the received messages.
      */
     @Override
     public void run() {
         while (accept) {
             try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
+                selector.select();
+                Runnable change;
+                while ((change = pendingChanges.poll()) != null) {
+                    change.run();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) {
+                            connection.read();
+                        } else if (key.isWritable()) {
+                            connection.write();
+                        }
+                    }
+                }
+            } catch (ClosedSelectorException ex) {
+                return;
             } catch (IOException ex) {
-                // ignore
+                if (accept) {
+                    logger.debug("BIN-RPC server error: {}", ex.getMessage());
+                }
             }
         }
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key.channel());
+        }
+        closeQuietly(selector);
+    }
+
+    private void acceptConnection() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        }
     }
 
     /**
-     * Stops the listening.
+     * Stops the listening and closes all connections.
      */
     public void shutdown() {
         accept = false;
+        closeQuietly(serverChannel);
+        selector.wakeup();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
         try {
-            serverSocket.close();
-        } catch (IOException ioe) {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (Exception ex) {
             // ignore
         }
     }
 
+    /**
+     * A connection from the Homematic gateway. The gateway sends the next message not before the result of the previous
+     * one has been received, so reading is suspended while a message is handled.
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final long created = System.currentTimeMillis();
+        private SelectionKey key;
+        private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private ByteBuffer writeBuffer;
+
+        public Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads the available data and dispatches the message as soon as it is complete.
+         */
+        public void read() {
+            try {
+                if (channel.read(readBuffer) == -1) {
+                    close();
+                    return;
+                }
+                dispatchMessage();
+            } catch (EOFException ex) {
+                close();
+            } catch (Exception ex) {
+                logger.warn("{}", ex.getMessage(), ex);
+                close();
+            }
+        }
+
+        private void dispatchMessage() throws IOException {
+            int received = readBuffer.position();
+            int length = BinRpcMessage.getMessageLength(readBuffer, received);
+            if (length == -1) {
+                return;
+            }
+            if (!BinRpcMessage.hasBinXSignature(readBuffer)) {
+                throw new IOException("No BinX signature");
+            }
+            if (length < 8) {
+                throw new IOException("Invalid BIN-RPC message length " + length);
+            }
+            if (length > readBuffer.capacity()) {
+                ByteBuffer newBuffer = ByteBuffer.allocate(length);
+                readBuffer.flip();
+                newBuffer.put(readBuffer);
+                readBuffer = newBuffer;
+                return;
+            }
+            if (received < length) {
+                return;
+            }
+
+            ByteBuffer frame = readBuffer.duplicate();
+            frame.flip().limit(length);
+            BinRpcMessage message = new BinRpcMessage(frame, true, config.getEncoding());
+            readBuffer.flip();
+            readBuffer.position(length);
+            readBuffer.compact();
+
+            key.interestOps(0);
+            ThreadPoolManager.getPool(RPC_POOL_NAME).execute(() -> handleMessage(message));
+        }
+
+        private void handleMessage(BinRpcMessage message) {
+            byte[] returnValue = null;
+            try {
+                logger.trace("Event BinRpcMessage: {}", message);
+                returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(), message.getResponseData());
+            } catch (Exception ex) {
+                logger.warn("{}", ex.getMessage(), ex);
+            }
+            final byte[] result = returnValue;
+            pendingChanges.add(() -> sendResult(result));
+            selector.wakeup();
+        }
+
+        private void sendResult(byte[] result) {
+            if (!key.isValid()) {
+                return;
+            }
+            if (result != null) {
+                writeBuffer = ByteBuffer.wrap(result);
+                write();
+            } else {
+                resume();
+            }
+        }
+
+        /**
+         * Writes the result of the method call and resumes reading afterwards.
+         */
+        public void write() {
+            try {
+                channel.write(writeBuffer);
+                if (writeBuffer.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                } else {
+                    writeBuffer = null;
+                    resume();
+                }
+            } catch (IOException ex) {
+                logger.debug("Can't write BIN-RPC result: {}", ex.getMessage());
+                close();
+            }
+        }
+
+        private void resume() {
+            boolean isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
+            if (isMaxAliveReached) {
+                close();
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            try {
+                // the next message may have been received with the previous one
+                dispatchMessage();
+            } catch (Exception ex) {
+                logger.warn("{}", ex.getMessage(), ex);
+                close();
+            }
+        }
+
+        private void close() {
+            key.cancel();
+            closeQuietly(channel);
+        }
+    }
 }
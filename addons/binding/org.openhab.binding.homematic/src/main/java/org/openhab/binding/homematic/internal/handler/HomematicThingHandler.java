@@ -110,6 +110,7 @@ public class HomematicThingHandler extends BaseThingHandler {
         HomematicGateway gateway = getHomematicGateway();
         HmDevice device = gateway.getDevice(UidUtils.getHomematicAddress(getThing()));
         HmChannel channelZero = device.getChannel(0);
+        loadHomematicDeviceValues(device);
         loadHomematicChannelValues(channelZero);
         updateStatus(device);
         logger.debug("Initializing thing '{}' from gateway '{}'", getThing().getUID(), gateway.getId());
@@ -409,6 +410,20 @@ public class HomematicThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Loads the values of all channels of the given Homematic device which are not initialized with as few requests
+     * as possible. Channels which can't be loaded this way are loaded one by one when needed.
+     */
+    private void loadHomematicDeviceValues(HmDevice device) throws GatewayNotAvailableException {
+        synchronized (this) {
+            try {
+                getHomematicGateway().loadDeviceValues(device);
+            } catch (IOException ex) {
+                logger.debug("Can't load all values of device '{}' at once: {}", device.getAddress(), ex.getMessage());
+            }
+        }
+    }
+
     /**
      * Updates the thing status based on device status.
      */
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadSchedulerTest {
+
+    private ReadScheduler scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = new ReadScheduler(0);
+    }
+
+    private ReadDatapoint datapoint(int address, ReadPriority priority) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 0, address), "test"), 3, priority);
+    }
+
+    private int pollAddress() {
+        ReadDatapoint datapoint = scheduler.poll();
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress().getDevice();
+    }
+
+    @Test
+    public void testDuplicatesAreQueuedOnce() {
+        assertTrue(scheduler.add(datapoint(1, ReadPriority.INITIAL)));
+        assertFalse(scheduler.add(datapoint(1, ReadPriority.INITIAL)));
+        assertTrue(scheduler.add(datapoint(2, ReadPriority.INITIAL)));
+
+        assertEquals(2, scheduler.size());
+        assertEquals(1, pollAddress());
+        assertEquals(2, pollAddress());
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    public void testHigherPrioritiesAreReadFirst() {
+        scheduler.add(datapoint(1, ReadPriority.INITIAL));
+        scheduler.add(datapoint(2, ReadPriority.POLL));
+        scheduler.add(datapoint(3, ReadPriority.REFRESH));
+        scheduler.add(datapoint(4, ReadPriority.INITIAL));
+
+        assertEquals(3, pollAddress());
+        assertEquals(2, pollAddress());
+        assertEquals(1, pollAddress());
+        assertEquals(4, pollAddress());
+    }
+
+    @Test
+    public void testQueuedDatapointIsPromoted() {
+        scheduler.add(datapoint(1, ReadPriority.INITIAL));
+        scheduler.add(datapoint(2, ReadPriority.INITIAL));
+        assertTrue(scheduler.add(datapoint(2, ReadPriority.REFRESH)));
+        assertFalse(scheduler.add(datapoint(2, ReadPriority.POLL)));
+
+        assertEquals(1, scheduler.size(ReadPriority.REFRESH));
+        assertEquals(1, scheduler.size(ReadPriority.INITIAL));
+        assertEquals(2, pollAddress());
+        assertEquals(1, pollAddress());
+    }
+
+    @Test
+    public void testSlowResponsesIncreasePause() {
+        long latency = TimeUnit.MILLISECONDS.toNanos(20);
+        for (int i = 0; i < 10; i++) {
+            scheduler.readFinished(latency, true);
+        }
+        assertEquals(0, scheduler.getPause());
+
+        scheduler.readFinished(latency * 10, true);
+        long pause = scheduler.getPause();
+        assertTrue(pause > 0);
+
+        // missing responses do not change the pace
+        scheduler.readFinished(latency * 100, false);
+        assertEquals(pause, scheduler.getPause());
+
+        for (int i = 0; i < 20; i++) {
+            scheduler.readFinished(latency, true);
+        }
+        assertEquals(0, scheduler.getPause());
+    }
+
+    @Test
+    public void testReadingPauseIsKept() {
+        scheduler = new ReadScheduler(1000);
+        scheduler.add(datapoint(1, ReadPriority.REFRESH));
+        scheduler.add(datapoint(2, ReadPriority.REFRESH));
+
+        assertEquals(1, pollAddress());
+        scheduler.readFinished(TimeUnit.MILLISECONDS.toNanos(20), true);
+        assertNull(scheduler.poll());
+        assertEquals(1000, scheduler.getPause());
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TelegramDispatcherTest {
+
+    private final GroupAddress ga1 = new GroupAddress(1, 2, 3);
+    private final GroupAddress ga2 = new GroupAddress(1, 2, 4);
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<String> received = new ArrayList<>();
+
+    private TelegramDispatcher dispatcher;
+
+    @Before
+    public void setup() {
+        dispatcher = new TelegramDispatcher(tasks::add);
+    }
+
+    private GroupAddressListener listener(GroupAddress... addresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(new HashSet<>(Arrays.asList(addresses)));
+        return listener;
+    }
+
+    private void dispatch(GroupAddress destination, String telegram) {
+        dispatcher.dispatch(destination, listener -> received.add(listener.toString() + ":" + telegram));
+    }
+
+    private void runTasks() {
+        List<Runnable> current = new ArrayList<>(tasks);
+        tasks.clear();
+        current.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testDispatchByAddress() {
+        GroupAddressListener listener1 = listener(ga1);
+        GroupAddressListener listener2 = listener(ga1, ga2);
+        assertTrue(dispatcher.register(listener1));
+        assertTrue(dispatcher.register(listener2));
+        assertFalse(dispatcher.register(listener2));
+
+        dispatch(ga2, "a");
+        runTasks();
+
+        assertEquals(Arrays.asList(listener2 + ":a"), received);
+        verify(listener1, never()).listensTo(any());
+    }
+
+    @Test
+    public void testTelegramsAreBatchedPerListener() {
+        GroupAddressListener listener = listener(ga1, ga2);
+        dispatcher.register(listener);
+
+        dispatch(ga1, "a");
+        dispatch(ga2, "b");
+        dispatch(ga1, "c");
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(Arrays.asList(listener + ":a", listener + ":b", listener + ":c"), received);
+        assertEquals(3, dispatcher.getStatistics().getTelegrams());
+
+        dispatch(ga1, "d");
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testUnregister() {
+        GroupAddressListener listener = listener(ga1);
+        dispatcher.register(listener);
+        assertTrue(dispatcher.unregister(listener));
+        assertFalse(dispatcher.unregister(listener));
+
+        dispatch(ga1, "a");
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void testUnregisterAfterAddressesChanged() {
+        HashSet<GroupAddress> addresses = new HashSet<>(Arrays.asList(ga1));
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(addresses);
+        dispatcher.register(listener);
+
+        // the listener reuses its set for a new configuration
+        addresses.clear();
+        addresses.add(ga2);
+        dispatcher.unregister(listener);
+
+        dispatch(ga1, "a");
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void testListenerWithoutAddresses() {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(null);
+        when(listener.listensTo(ga1)).thenReturn(true);
+        dispatcher.register(listener);
+
+        dispatch(ga1, "a");
+        dispatch(ga2, "b");
+        runTasks();
+
+        assertEquals(Arrays.asList(listener + ":a"), received);
+    }
+}
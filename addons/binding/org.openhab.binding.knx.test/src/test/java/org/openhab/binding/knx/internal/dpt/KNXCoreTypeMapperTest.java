@@ -12,11 +12,21 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -30,4 +40,39 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_numericDPTsDecodedFromBytes() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(OnOffType.ON, toType(mapper, "1.001", 0x01));
+        assertEquals(OnOffType.OFF, toType(mapper, "1.001", 0x00));
+        assertEquals(UpDownType.DOWN, toType(mapper, "1.008", 0x01));
+        assertEquals(new PercentType(BigDecimal.valueOf(100)), toType(mapper, "5.001", 0xff));
+        assertEquals(new DecimalType(42), toType(mapper, "5.010", 42));
+        assertEquals(new DecimalType(21.0), toType(mapper, "9.001", 0x0c, 0x1a));
+        assertEquals(new DecimalType(-0.5), toType(mapper, "9.001", 0x87, 0xce));
+        assertEquals(new DecimalType(10.0), toType(mapper, "14.019", 0x41, 0x20, 0x00, 0x00));
+        assertEquals(HSBType.fromRGB(255, 0, 0), toType(mapper, "232.600", 0xff, 0x00, 0x00));
+    }
+
+    @Test
+    public void testToType_shortDataRejected() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertNull(toType(mapper, "9.001", 0x0c));
+        assertNull(toType(mapper, "14.019", 0x41, 0x20));
+        assertNull(toType(mapper, "232.600", 0xff));
+    }
+
+    @Test
+    public void testToType_nonFiniteFloatIgnored() {
+        assertNull(toType(new KNXCoreTypeMapper(), "14.019", 0x7f, 0xc0, 0x00, 0x00));
+    }
+
+    private Type toType(KNXCoreTypeMapper mapper, String dpt, int... data) {
+        byte[] bytes = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            bytes[i] = (byte) data[i];
+        }
+        return mapper.toType(new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt), bytes);
+    }
+
 }
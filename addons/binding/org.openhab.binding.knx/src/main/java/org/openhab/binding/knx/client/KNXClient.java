@@ -77,11 +77,22 @@ public interface KNXClient {
     boolean unregisterGroupAddressListener(GroupAddressListener listener);
 
     /**
-     * Schedule the given data point for asynchronous reading.
+     * Schedule the given data point for asynchronous reading of its initial value.
      *
      * @param datapoint the datapoint
      */
-    void readDatapoint(Datapoint datapoint);
+    default void readDatapoint(Datapoint datapoint) {
+        readDatapoint(datapoint, ReadPriority.INITIAL);
+    }
+
+    /**
+     * Schedule the given data point for asynchronous reading. A data point is queued only once, if it is already
+     * queued with a lower priority, it is moved to the given priority.
+     *
+     * @param datapoint the datapoint
+     * @param priority the priority of the read
+     */
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
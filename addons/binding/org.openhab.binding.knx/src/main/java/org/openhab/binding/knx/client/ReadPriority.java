@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.client;
+
+/**
+ * Priority of a read request queued by {@link KNXClient#readDatapoint(tuwien.auto.calimero.datapoint.Datapoint,
+ * ReadPriority)}. Requests of a higher priority are sent to the bus first.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public enum ReadPriority {
+
+    /**
+     * A refresh explicitly requested, e.g. by a user
+     */
+    REFRESH,
+
+    /**
+     * A periodic read of a value
+     */
+    POLL,
+
+    /**
+     * The read of the initial value, e.g. after a restart
+     */
+    INITIAL
+
+}
@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.knx.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
 import tuwien.auto.calimero.GroupAddress;
@@ -34,4 +37,14 @@ public interface GroupAddressListener extends BusMessageListener {
      */
     public boolean listensTo(GroupAddress destination);
 
+    /**
+     * Get all GroupAddresses the GroupAddressListener has an interest in. They are read once on registration, to look
+     * up the listeners of a telegram without calling {@link #listensTo(GroupAddress)} on each of them.
+     *
+     * @return the group addresses, or {@code null} if {@link #listensTo(GroupAddress)} has to be called for every
+     *         telegram
+     */
+    public default @Nullable Set<GroupAddress> getGroupAddresses() {
+        return null;
+    }
 }
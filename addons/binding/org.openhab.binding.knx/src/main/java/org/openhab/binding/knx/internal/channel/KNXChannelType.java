@@ -127,6 +127,18 @@ public abstract class KNXChannelType {
         return ret;
     }
 
+    public final Set<String> getDPTs(Configuration channelConfiguration) {
+        Set<String> ret = new HashSet<>();
+        for (String key : getAllGAKeys()) {
+            ChannelConfiguration conf = parse((String) channelConfiguration.get(key));
+            if (conf != null) {
+                String dpt = conf.getDPT();
+                ret.add(dpt != null ? dpt : getDefaultDPT(key));
+            }
+        }
+        return ret;
+    }
+
     private @Nullable GroupAddress toGroupAddress(GroupAddressConfiguration ga) {
         try {
             return new GroupAddress(ga.getGA());
@@ -12,9 +12,6 @@
  */
 package org.openhab.binding.knx.internal.client;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -30,6 +27,7 @@ import org.openhab.binding.knx.KNXTypeMapper;
 import org.openhab.binding.knx.client.DeviceInfoClient;
 import org.openhab.binding.knx.client.KNXClient;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.client.StatusUpdateCallback;
 import org.openhab.binding.knx.handler.GroupAddressListener;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
@@ -68,6 +66,7 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int STATISTICS_INTERVAL = 60;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -88,9 +87,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable DeviceInfoClient deviceInfoClient;
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
+    private @Nullable ScheduledFuture<?> statisticsJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final TelegramDispatcher telegramDispatcher;
+    private final ReadScheduler readScheduler;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -136,6 +136,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        this.telegramDispatcher = new TelegramDispatcher(knxScheduler);
+        this.readScheduler = new ReadScheduler(readingPause);
     }
 
     public void initialize() {
@@ -202,6 +204,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
                     TimeUnit.MILLISECONDS);
+            if (logger.isDebugEnabled()) {
+                getTelegramStatistics().reset();
+                readScheduler.resetDrainRate();
+                statisticsJob = knxScheduler.scheduleWithFixedDelay(() -> logTelegramStatistics(),
+                        STATISTICS_INTERVAL, STATISTICS_INTERVAL, TimeUnit.SECONDS);
+            }
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             cancelReconnectJob(false);
@@ -225,8 +233,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
+        readScheduler.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
+        statisticsJob = nullify(statisticsJob, j -> j.cancel(false));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
         managementClient = nullify(managementClient, mc -> mc.detach());
@@ -253,11 +262,24 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
-        }
+        readScheduler.telegramReceived();
+        telegramDispatcher.dispatch(destination, listener -> action.apply(listener, source, destination, asdu));
+    }
+
+    /**
+     * Get the counters for the telegrams received from the bus and their dispatching to the things
+     *
+     * @return the statistics
+     */
+    public TelegramStatistics getTelegramStatistics() {
+        return telegramDispatcher.getStatistics();
+    }
+
+    private void logTelegramStatistics() {
+        TelegramStatistics statistics = getTelegramStatistics();
+        logger.debug("Bridge {} received {}, {}", thingUID, statistics, readScheduler);
+        statistics.reset();
+        readScheduler.resetDrainRate();
     }
 
     /**
@@ -280,15 +302,18 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        ReadDatapoint datapoint = readScheduler.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
+            long start = System.nanoTime();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                readScheduler.readFinished(System.nanoTime() - start, true);
             } catch (KNXException e) {
+                readScheduler.readFinished(System.nanoTime() - start, false);
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    readScheduler.add(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -366,23 +391,27 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readScheduler.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
+    }
+
+    /**
+     * Get the number of data points waiting to be read from the bus
+     *
+     * @return the number of queued reads
+     */
+    public int getQueuedReads() {
+        return readScheduler.size();
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        return telegramDispatcher.register(listener);
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        return telegramDispatcher.unregister(listener);
     }
 
     @Override
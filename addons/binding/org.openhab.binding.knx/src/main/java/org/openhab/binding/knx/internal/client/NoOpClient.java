@@ -17,6 +17,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.client.DeviceInfoClient;
 import org.openhab.binding.knx.client.KNXClient;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.handler.GroupAddressListener;
 
 import tuwien.auto.calimero.IndividualAddress;
@@ -62,7 +63,7 @@ public class NoOpClient implements KNXClient {
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
     }
 
     @Override
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of the data points to read from the KNX bus.
+ *
+ * Each data point is queued at most once. Data points are read in the order of their {@link ReadPriority}, and in
+ * the order they were queued within a priority.
+ *
+ * The pause between two reads adapts to the bus: it is doubled while the bus load is high or the responses are
+ * considerably slower than usual, and shrinks back to the configured reading pause otherwise.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ReadScheduler {
+
+    /**
+     * Bus load in telegrams per second above which reads are slowed down. A twisted pair line transports about 50
+     * telegrams per second.
+     */
+    static final int HIGH_BUS_LOAD = 30;
+
+    /**
+     * Longest pause between two reads in milliseconds, unless a longer reading pause is configured
+     */
+    static final long MAX_PAUSE = 2000;
+
+    /**
+     * A response taking longer than this factor times the average response time is considered slow
+     */
+    private static final int SLOW_RESPONSE_FACTOR = 2;
+    private static final int MIN_LATENCY_SAMPLES = 8;
+    private static final long LOAD_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    /** Queues indexed by the ordinal of their priority */
+    private final List<LinkedHashMap<GroupAddress, ReadDatapoint>> queues = new ArrayList<>();
+    private final long minPause;
+    private final long maxPause;
+
+    private long pause;
+    private long nextRead;
+    private double averageLatency;
+    private int latencySamples;
+
+    private long loadWindowStart = System.nanoTime();
+    private int loadWindowTelegrams;
+    private double busLoad;
+
+    private long drainedSince = System.nanoTime();
+    private long drained;
+
+    /**
+     * @param readingPause pause between two reads in milliseconds on an idle bus
+     */
+    ReadScheduler(long readingPause) {
+        for (int i = 0; i < ReadPriority.values().length; i++) {
+            queues.add(new LinkedHashMap<>());
+        }
+        this.minPause = readingPause;
+        this.maxPause = Math.max(readingPause, MAX_PAUSE);
+        this.pause = readingPause;
+        this.nextRead = System.nanoTime();
+    }
+
+    /**
+     * Queue a data point. If it is already queued with a lower priority, it is moved to the given priority.
+     *
+     * @return {@code false} if the data point was already queued with the same or a higher priority
+     */
+    synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        for (ReadPriority priority : ReadPriority.values()) {
+            LinkedHashMap<GroupAddress, ReadDatapoint> queue = queues.get(priority.ordinal());
+            ReadDatapoint queued = queue.get(address);
+            if (queued == null) {
+                continue;
+            }
+            if (priority.compareTo(datapoint.getPriority()) <= 0) {
+                return false;
+            }
+            queue.remove(address);
+            queued.setPriority(datapoint.getPriority());
+            queues.get(datapoint.getPriority().ordinal()).put(address, queued);
+            return true;
+        }
+        queues.get(datapoint.getPriority().ordinal()).put(address, datapoint);
+        return true;
+    }
+
+    /**
+     * Take the next data point to read, if the pause since the last read is over
+     *
+     * @return the data point, or {@code null} if it is not yet time to read or nothing is queued
+     */
+    synchronized @Nullable ReadDatapoint poll() {
+        if (System.nanoTime() - nextRead < 0) {
+            return null;
+        }
+        for (LinkedHashMap<GroupAddress, ReadDatapoint> queue : queues) {
+            Iterator<ReadDatapoint> iterator = queue.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint datapoint = iterator.next();
+                iterator.remove();
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record the result of a read and determine when the next read may be sent
+     *
+     * @param latencyInNanos the time the read took
+     * @param success whether a response was received
+     */
+    synchronized void readFinished(long latencyInNanos, boolean success) {
+        long now = System.nanoTime();
+        drained++;
+        loadWindowTelegrams++;
+        updateBusLoad(now);
+
+        boolean slowResponse = false;
+        if (success) {
+            slowResponse = latencySamples >= MIN_LATENCY_SAMPLES
+                    && latencyInNanos > SLOW_RESPONSE_FACTOR * averageLatency;
+            averageLatency = latencySamples == 0 ? latencyInNanos
+                    : averageLatency + (latencyInNanos - averageLatency) / 8;
+            latencySamples++;
+        }
+        // Missing responses are caused by absent devices rather than by the bus, they do not change the pace
+        if (busLoad > HIGH_BUS_LOAD || slowResponse) {
+            pause = Math.min(maxPause, Math.max(1, pause * 2));
+        } else if (success) {
+            pause = Math.max(minPause, pause * 3 / 4);
+        }
+        nextRead = now + TimeUnit.MILLISECONDS.toNanos(pause);
+    }
+
+    /**
+     * Record a telegram received from the bus
+     */
+    synchronized void telegramReceived() {
+        loadWindowTelegrams++;
+        updateBusLoad(System.nanoTime());
+    }
+
+    private void updateBusLoad(long now) {
+        long elapsed = now - loadWindowStart;
+        if (elapsed >= LOAD_WINDOW) {
+            busLoad = loadWindowTelegrams * (double) LOAD_WINDOW / elapsed;
+            loadWindowStart = now;
+            loadWindowTelegrams = 0;
+        }
+    }
+
+    synchronized void clear() {
+        queues.forEach(Map::clear);
+    }
+
+    /**
+     * Get the number of queued data points
+     */
+    synchronized int size() {
+        return queues.stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Get the number of queued data points of the given priority
+     */
+    synchronized int size(ReadPriority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    /**
+     * Get the current pause between two reads in milliseconds
+     */
+    synchronized long getPause() {
+        return pause;
+    }
+
+    /**
+     * Get the number of reads per second since the last call of {@link #resetDrainRate()}
+     */
+    synchronized double getDrainRate() {
+        long elapsed = System.nanoTime() - drainedSince;
+        return elapsed <= 0 ? 0 : drained * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    synchronized void resetDrainRate() {
+        drained = 0;
+        drainedSince = System.nanoTime();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d queued reads (%d refresh, %d poll, %d initial), %.1f reads/s, pause %d ms", size(),
+                size(ReadPriority.REFRESH), size(ReadPriority.POLL), size(ReadPriority.INITIAL), getDrainRate(),
+                pause);
+    }
+}
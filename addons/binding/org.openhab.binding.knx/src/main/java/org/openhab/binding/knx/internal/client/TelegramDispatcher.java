@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Passes the telegrams received from the KNX bus to the {@link GroupAddressListener}s.
+ *
+ * The listeners are looked up by the destination address of a telegram in an index built from
+ * {@link GroupAddressListener#getGroupAddresses()}. Only listeners not providing their addresses are asked by
+ * {@link GroupAddressListener#listensTo(GroupAddress)}.
+ *
+ * Each listener has its own queue of telegrams. A single task delivers all telegrams queued for a listener, in the
+ * order they were received, so a burst of telegrams does not result in a task per telegram.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class TelegramDispatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(TelegramDispatcher.class);
+
+    private final Executor executor;
+    private final TelegramStatistics statistics = new TelegramStatistics();
+
+    private final Map<GroupAddressListener, ListenerQueue> listeners = new HashMap<>();
+    private final Map<GroupAddress, List<ListenerQueue>> listenersByAddress = new ConcurrentHashMap<>();
+    private final List<ListenerQueue> unindexedListeners = new CopyOnWriteArrayList<>();
+
+    private class ListenerQueue implements Runnable {
+        private final GroupAddressListener listener;
+        private final Set<GroupAddress> addresses;
+        private final Queue<Delivery> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        ListenerQueue(GroupAddressListener listener, Set<GroupAddress> addresses) {
+            this.listener = listener;
+            this.addresses = addresses;
+        }
+
+        void add(Delivery delivery) {
+            pending.add(delivery);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            Delivery delivery;
+            while ((delivery = pending.poll()) != null) {
+                statistics.telegramDelivered(System.nanoTime() - delivery.received);
+                try {
+                    delivery.notification.accept(listener);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener {} failed to process a telegram: {}", listener, e.getMessage(), e);
+                }
+            }
+            scheduled.set(false);
+            // Telegrams added after the queue was found empty, but before the flag was reset
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+    }
+
+    private static class Delivery {
+        private final Consumer<GroupAddressListener> notification;
+        private final long received;
+
+        Delivery(Consumer<GroupAddressListener> notification, long received) {
+            this.notification = notification;
+            this.received = received;
+        }
+    }
+
+    TelegramDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    TelegramStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Register a listener. Its group addresses are read and copied once, see
+     * {@link GroupAddressListener#getGroupAddresses()}.
+     *
+     * @return {@code true} if it wasn't registered before
+     */
+    synchronized boolean register(GroupAddressListener listener) {
+        if (listeners.containsKey(listener)) {
+            return false;
+        }
+        Set<GroupAddress> addresses = listener.getGroupAddresses();
+        ListenerQueue queue = new ListenerQueue(listener,
+                addresses == null ? Collections.emptySet() : new HashSet<>(addresses));
+        listeners.put(listener, queue);
+        if (addresses == null) {
+            unindexedListeners.add(queue);
+        } else {
+            for (GroupAddress address : queue.addresses) {
+                listenersByAddress.computeIfAbsent(address, a -> new CopyOnWriteArrayList<>()).add(queue);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove a listener. Telegrams already queued for it are still delivered.
+     *
+     * @return {@code true} if it was registered
+     */
+    synchronized boolean unregister(GroupAddressListener listener) {
+        ListenerQueue queue = listeners.remove(listener);
+        if (queue == null) {
+            return false;
+        }
+        unindexedListeners.remove(queue);
+        for (GroupAddress address : queue.addresses) {
+            List<ListenerQueue> queues = listenersByAddress.get(address);
+            if (queues != null) {
+                queues.remove(queue);
+                if (queues.isEmpty()) {
+                    listenersByAddress.remove(address);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pass a telegram to all listeners interested in its destination
+     *
+     * @param destination the destination address of the telegram
+     * @param notification calls the listener method for the telegram
+     */
+    void dispatch(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+        statistics.telegramReceived();
+        Delivery delivery = new Delivery(notification, System.nanoTime());
+        List<ListenerQueue> queues = listenersByAddress.get(destination);
+        if (queues != null) {
+            for (ListenerQueue queue : queues) {
+                queue.add(delivery);
+            }
+        }
+        for (ListenerQueue queue : unindexedListeners) {
+            if (queue.listener.listensTo(destination)) {
+                queue.add(delivery);
+            }
+        }
+    }
+}
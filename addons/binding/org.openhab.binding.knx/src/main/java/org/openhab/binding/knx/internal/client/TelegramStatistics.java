@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters for the telegrams received from the KNX bus and their dispatching to the listeners.
+ *
+ * The counters cover the time since the last call of {@link #reset()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TelegramStatistics {
+
+    private final LongAdder telegrams = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+    private final LongAdder latencySum = new LongAdder();
+    private final AtomicLong latencyMax = new AtomicLong();
+    private volatile long since = System.nanoTime();
+
+    void telegramReceived() {
+        telegrams.increment();
+    }
+
+    void telegramDelivered(long latencyInNanos) {
+        deliveries.increment();
+        latencySum.add(latencyInNanos);
+        latencyMax.accumulateAndGet(latencyInNanos, Math::max);
+    }
+
+    /**
+     * Get the number of received telegrams
+     */
+    public long getTelegrams() {
+        return telegrams.sum();
+    }
+
+    /**
+     * Get the average number of received telegrams per second
+     */
+    public double getTelegramsPerSecond() {
+        long elapsed = System.nanoTime() - since;
+        return elapsed <= 0 ? 0 : telegrams.sum() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Get the average time in milliseconds between receiving a telegram and passing it to a listener
+     */
+    public double getAverageDispatchLatency() {
+        long n = deliveries.sum();
+        return n == 0 ? 0 : latencySum.sum() / (double) n / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the longest time in milliseconds between receiving a telegram and passing it to a listener
+     */
+    public double getMaxDispatchLatency() {
+        return latencyMax.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Clear all counters
+     */
+    public void reset() {
+        telegrams.reset();
+        deliveries.reset();
+        latencySum.reset();
+        latencyMax.set(0);
+        since = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d telegrams (%.1f/s), dispatch latency %.2f ms average, %.2f ms max", getTelegrams(),
+                getTelegramsPerSecond(), getAverageDispatchLatency(), getMaxDispatchLatency());
+    }
+}
@@ -13,8 +13,6 @@
 package org.openhab.binding.knx.internal.dpt;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -24,6 +22,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -107,6 +108,17 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the decoder for each KNX datapoint type id, created when the datapoint type is first used */
+    private final Map<String, Decoder> decoders = new ConcurrentHashMap<>();
+
+    /**
+     * Decodes the data of a datapoint into an openHAB type
+     */
+    @FunctionalInterface
+    private interface Decoder {
+        Type decode(byte[] data);
+    }
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -666,24 +678,175 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        return getDecoder(datapoint.getMainNumber(), datapoint.getDPT()).decode(data);
+    }
+
+    /**
+     * Resolves the decoder for a datapoint type in advance, so that the first telegram received for it does not have
+     * to pay for creating the translator and looking up the type mapping.
+     *
+     * @param dptId the datapoint type id
+     */
+    public void prepareDecoder(String dptId) {
+        getDecoder(0, dptId);
+    }
+
+    private Decoder getDecoder(int mainNumber, String dptId) {
+        Decoder decoder = decoders.get(dptId);
+        if (decoder == null) {
+            decoder = createDecoder(mainNumber, dptId);
+            Decoder existing = decoders.putIfAbsent(dptId, decoder);
+            if (existing != null) {
+                decoder = existing;
+            }
+        }
+        return decoder;
+    }
+
+    private Decoder createDecoder(int mainNumber, String dptId) {
+        DPTXlator translator;
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
-            translator.setData(data);
-            String value = translator.getValue();
+            translator = TranslatorTypes.createTranslator(mainNumber, dptId);
+        } catch (KNXException e) {
+            logger.warn("Failed creating a translator for datapoint type '{}'.", dptId, e);
+            return data -> null;
+        }
 
-            String id = translator.getType().getID();
-            logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
+        String id = translator.getType().getID();
+        int main = getMainNumber(id);
+        if (main == -1) {
+            logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
+            return data -> null;
+        }
+        int sub = getSubNumber(id);
+        if (sub == -1) {
+            logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
+            return data -> null;
+        }
+        Class<? extends Type> typeClass = toTypeClass(id);
 
-            int mainNumber = getMainNumber(id);
-            if (mainNumber == -1) {
-                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
+        Queue<DPTXlator> translators = new ConcurrentLinkedQueue<>();
+        translators.add(translator);
+        Decoder translatorDecoder = data -> {
+            DPTXlator pooled = translators.poll();
+            try {
+                if (pooled == null) {
+                    pooled = TranslatorTypes.createTranslator(mainNumber, dptId);
+                }
+                return toType(pooled, dptId, main, sub, typeClass, data);
+            } catch (KNXException e) {
+                logger.warn("Failed creating a translator for datapoint type '{}'.", dptId, e);
                 return null;
+            } finally {
+                if (pooled != null) {
+                    translators.offer(pooled);
+                }
             }
-            int subNumber = getSubNumber(id);
-            if (subNumber == -1) {
-                logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
+        };
+
+        Decoder directDecoder = createDirectDecoder(main, sub, typeClass);
+        if (directDecoder == null) {
+            return translatorDecoder;
+        }
+        // shorter data is passed to the translator, which rejects it
+        int length = translator.getTypeSize() == 0 ? 1 : translator.getTypeSize();
+        return data -> data.length >= length ? directDecoder.decode(data) : translatorDecoder.decode(data);
+    }
+
+    /**
+     * Creates a decoder reading the value directly from the data of the most common datapoint types, without a
+     * translator and without formatting and parsing strings. The results match those of the calimero translators.
+     *
+     * @return the decoder, or {@code null} if the datapoint type has to be decoded by a translator
+     */
+    private Decoder createDirectDecoder(int mainNumber, int subNumber, Class<? extends Type> typeClass) {
+        switch (mainNumber) {
+            case 1:
+                Type[] booleanTypes;
+                switch (subNumber) {
+                    case 8:
+                        booleanTypes = new Type[] { UpDownType.UP, UpDownType.DOWN };
+                        break;
+                    case 9:
+                    case 19:
+                        booleanTypes = new Type[] { OpenClosedType.CLOSED, OpenClosedType.OPEN };
+                        break;
+                    case 10:
+                        booleanTypes = new Type[] { StopMoveType.STOP, StopMoveType.MOVE };
+                        break;
+                    case 22:
+                        booleanTypes = new Type[] { DecimalType.valueOf("0"), DecimalType.valueOf("1") };
+                        break;
+                    default:
+                        booleanTypes = new Type[] { OnOffType.OFF, OnOffType.ON };
+                        break;
+                }
+                return data -> booleanTypes[data[0] & 0x01];
+            case 5:
+                if (!isNumericType(typeClass)) {
+                    return null;
+                }
+                // all 256 values are known in advance
+                Type[] unsignedTypes = new Type[256];
+                for (int i = 0; i < unsignedTypes.length; i++) {
+                    double value = subNumber == 1 ? i * 100 / 255.0 : subNumber == 3 ? i * 360 / 255.0 : i;
+                    unsignedTypes[i] = toNumericType(typeClass, value);
+                }
+                return data -> unsignedTypes[data[0] & 0xff];
+            case 9:
+                if (!isNumericType(typeClass)) {
+                    return null;
+                }
+                return data -> {
+                    int raw = (data[0] & 0xff) << 8 | data[1] & 0xff;
+                    int mantissa = raw & 0x07ff;
+                    if ((raw & 0x8000) != 0) {
+                        mantissa -= 2048;
+                    }
+                    int exponent = (raw >> 11) & 0x0f;
+                    return toNumericType(typeClass, 0.01 * mantissa * (1 << exponent));
+                };
+            case 14:
+                if (!isNumericType(typeClass)) {
+                    return null;
+                }
+                return data -> {
+                    int raw = (data[0] & 0xff) << 24 | (data[1] & 0xff) << 16 | (data[2] & 0xff) << 8 | data[3] & 0xff;
+                    float value = Float.intBitsToFloat(raw);
+                    if (Float.isNaN(value) || Float.isInfinite(value)) {
+                        logger.debug("toType: KNX float value ignored: {} cannot be represented as number.", value);
+                        return null;
+                    }
+                    return toNumericType(typeClass, value);
+                };
+            case 232:
+                if (!HSBType.class.equals(typeClass)) {
+                    return null;
+                }
+                return data -> HSBType.fromRGB(data[0] & 0xff, data[1] & 0xff, data[2] & 0xff);
+            default:
                 return null;
-            }
+        }
+    }
+
+    private static boolean isNumericType(Class<? extends Type> typeClass) {
+        return PercentType.class.equals(typeClass) || DecimalType.class.equals(typeClass);
+    }
+
+    private static Type toNumericType(Class<? extends Type> typeClass, double value) {
+        if (PercentType.class.equals(typeClass)) {
+            return new PercentType(BigDecimal.valueOf(Math.round(value)));
+        }
+        return new DecimalType(value);
+    }
+
+    private Type toType(DPTXlator translator, String dptId, int mainNumber, int subNumber,
+            Class<? extends Type> typeClass, byte[] data) {
+        try {
+            translator.setData(data);
+            String value = translator.getValue();
+            logger.trace("toType datapoint DPT = {}", dptId);
+
             /*
              * Following code section deals with specific mapping of values from KNX to openHAB types were the String
              * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
@@ -723,27 +886,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                         case 8:
                             return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
                     }
-                case 14:
-                    /*
-                     * FIXME: Workaround for a bug in Calimero / Openhab DPTXlator4ByteFloat.makeString(): is using a
-                     * locale when
-                     * translating a Float to String. It could happen the a ',' is used as separator, such as
-                     * 3,14159E20.
-                     * Openhab's DecimalType expects this to be in US format and expects '.': 3.14159E20.
-                     * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
-                     * there.
-                     */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
-                        }
-                        value = dcf.format(f);
-                    }
                     break;
                 case 18:
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
@@ -806,7 +948,6 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     break;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
             if (typeClass == null) {
                 return null;
             }
@@ -822,7 +963,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             }
 
             if (typeClass.equals(DateTimeType.class)) {
-                String date = formatDateTime(value, datapoint.getDPT());
+                String date = formatDateTime(value, dptId);
                 if ((date == null) || (date.isEmpty())) {
                     logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
                     return null;
@@ -841,13 +982,10 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             }
 
         } catch (KNXFormatException kfe) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).",
-                    datapoint.getDPT());
+            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).", dptId);
         } catch (KNXIllegalArgumentException kiae) {
             logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
-                    datapoint.getDPT());
-        } catch (KNXException e) {
-            logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+                    dptId);
         }
 
         return null;
@@ -39,9 +39,9 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.Type;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.knx.KNXBindingConstants;
-import org.openhab.binding.knx.KNXTypeMapper;
 import org.openhab.binding.knx.client.InboundSpec;
 import org.openhab.binding.knx.client.OutboundSpec;
+import org.openhab.binding.knx.client.ReadPriority;
 import org.openhab.binding.knx.handler.AbstractKNXThingHandler;
 import org.openhab.binding.knx.internal.channel.KNXChannelType;
 import org.openhab.binding.knx.internal.channel.KNXChannelTypes;
@@ -69,7 +69,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
 
     private final Logger logger = LoggerFactory.getLogger(DeviceThingHandler.class);
 
-    private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
+    private final KNXCoreTypeMapper typeHelper = new KNXCoreTypeMapper();
     private final Set<GroupAddress> groupAddresses = new HashSet<>();
     private final Set<GroupAddress> groupAddressesWriteBlockedOnce = new HashSet<>();
     private final Set<OutboundSpec> groupAddressesRespondingSpec = new HashSet<>();
@@ -84,17 +84,20 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
 
     @Override
     public void initialize() {
+        // The group addresses are read once when registering at the client
+        initializeGroupAddresses();
         super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
-        initializeGroupAddresses();
     }
 
     private void initializeGroupAddresses() {
+        groupAddresses.clear();
         forAllChannels((selector, channelConfiguration) -> {
             groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
             groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
             groupAddresses.addAll(selector.getListenAddresses(channelConfiguration));
+            selector.getDPTs(channelConfiguration).forEach(typeHelper::prepareDecoder);
         });
     }
 
@@ -141,7 +144,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     public void channelLinked(ChannelUID channelUID) {
         if (!isControl(channelUID)) {
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, ReadPriority.INITIAL);
             });
         }
     }
@@ -152,42 +155,43 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         for (Channel channel : getThing().getChannels()) {
             if (isLinked(channel.getUID().getId()) && !isControl(channel.getUID())) {
                 withKNXType(channel, (selector, configuration) -> {
-                    scheduleRead(selector, configuration);
+                    scheduleRead(selector, configuration, ReadPriority.INITIAL);
                 });
             }
         }
     }
 
-    private void scheduleRead(KNXChannelType selector, Configuration configuration) throws KNXFormatException {
+    private void scheduleRead(KNXChannelType selector, Configuration configuration, ReadPriority priority)
+            throws KNXFormatException {
         List<InboundSpec> readSpecs = selector.getReadSpec(configuration);
         for (InboundSpec readSpec : readSpecs) {
             for (GroupAddress groupAddress : readSpec.getGroupAddresses()) {
-                scheduleReadJob(groupAddress, readSpec.getDPT());
+                scheduleReadJob(groupAddress, readSpec.getDPT(), priority);
             }
         }
     }
 
-    private void scheduleReadJob(GroupAddress groupAddress, String dpt) {
+    private void scheduleReadJob(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
+                future = getScheduler().scheduleWithFixedDelay(
+                        () -> readDatapoint(groupAddress, dpt, ReadPriority.POLL), readInterval, readInterval,
                         TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
             }
-        } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
         }
+        getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
@@ -196,6 +200,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         return groupAddresses.contains(destination);
     }
 
+    @Override
+    public Set<GroupAddress> getGroupAddresses() {
+        return groupAddresses;
+    }
+
     /** KNXIO remember controls, removeIf may be null */
     @SuppressWarnings("null")
     private void rememberRespondingSpec(OutboundSpec commandSpec, boolean add) {
@@ -215,7 +224,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (command instanceof RefreshType && !isControl(channelUID)) {
             logger.debug("Refreshing channel '{}'", channelUID);
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, ReadPriority.REFRESH);
             });
         } else {
             switch (channelUID.getId()) {
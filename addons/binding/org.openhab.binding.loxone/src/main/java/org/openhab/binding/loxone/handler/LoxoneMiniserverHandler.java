@@ -327,15 +327,39 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
     }
 
     @Override
-    public void onControlStateUpdate(LxControl control, String stateName) {
+    public void onControlStateUpdate(LxControl control, Set<String> stateNames) {
         ChannelUID channelId = getChannelIdForControl(control, 0);
+        boolean updateChannels = false;
+        for (String stateName : stateNames) {
+            if (!updateChannelDefinitions(channelId, control, stateName)) {
+                updateChannels = true;
+            }
+        }
+        // channel states are refreshed once for all updated states of the control
+        if (updateChannels) {
+            updateChannelStates(channelId, control);
+        }
+    }
 
+    /**
+     * Updates state descriptions and channels of a control, if the state update changes them
+     *
+     * @param channelId
+     *            channel ID of the control
+     * @param control
+     *            control object, which state changed
+     * @param stateName
+     *            name of the state that was updated
+     * @return
+     *         true if the state update was handled, false if the channel states have to be updated the regular way
+     */
+    private boolean updateChannelDefinitions(ChannelUID channelId, LxControl control, String stateName) {
         if (control instanceof LxControlLightController
                 && LxControlLightController.STATE_SCENE_LIST.equals(stateName)) {
             LxControlLightController controller = (LxControlLightController) control;
             setStateDescription(channelId, null, false, controller.getSceneNames(), BigDecimal.ZERO,
                     new BigDecimal((LxControlLightController.NUM_OF_SCENES - 1)));
-            return;
+            return true;
         } else if (control instanceof LxControlLightControllerV2) {
             LxControlLightControllerV2 controller = (LxControlLightControllerV2) control;
 
@@ -346,7 +370,7 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
                 Map<LxUuid, LxControlMood> moods = controller.getMoods();
                 if (moods == null) {
                     logger.debug("Moods list state was received, but mood list is null.");
-                    return;
+                    return true;
                 }
 
                 // convert all moods to options list for state description
@@ -387,11 +411,11 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
                 });
 
                 updateThing(builder.build());
-                return;
+                return true;
             }
         }
         // for all state updates not handled above just update the channel state the regular way
-        updateChannelStates(channelId, control);
+        return false;
     }
 
     @Override
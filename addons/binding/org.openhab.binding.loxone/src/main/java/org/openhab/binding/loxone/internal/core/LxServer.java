@@ -16,8 +16,11 @@ import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -100,6 +103,8 @@ public class LxServer {
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
     private final Map<LxUuid, Map<LxUuid, LxControlState>> states = new HashMap<>();
+    // Map of control names to controls, rebuilt when a new configuration is received
+    private volatile Map<String, LxControl> controlsByName = new HashMap<>();
     private final List<LxServerListener> listeners = new ArrayList<>();
 
     // Services
@@ -291,12 +296,10 @@ public class LxServer {
      *         Found control or null if not found
      */
     public LxControl findControl(String name) {
-        for (LxControl l : controls.values()) {
-            if (l.getName().equals(name)) {
-                return l;
-            }
+        if (name == null) {
+            return null;
         }
-        return null;
+        return controlsByName.get(name);
     }
 
     /**
@@ -448,25 +451,7 @@ public class LxServer {
                     }
                     break;
                 case STATE_UPDATE:
-                    LxWsStateUpdateEvent update = (LxWsStateUpdateEvent) wsMsg.getObject();
-                    Map<LxUuid, LxControlState> perStateUuid = findState(update.getUuid());
-                    if (perStateUuid != null) {
-                        perStateUuid.forEach((controlUuid, state) -> {
-                            state.setValue(update.getValue(), update.getText());
-                            LxControl control = state.getControl();
-                            if (control != null) {
-                                logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
-                                        update.getUuid(), control.getName(), state.getName(), update.getValue(),
-                                        update.getText());
-                                for (LxServerListener listener : listeners) {
-                                    listener.onControlStateUpdate(control, state.getName().toLowerCase());
-                                }
-                            } else {
-                                logger.debug("[{}] State update {} ({}) of unknown control", debugId, update.getUuid(),
-                                        state.getName());
-                            }
-                        });
-                    }
+                    updateStates((LxWsStateUpdateBatch) wsMsg.getObject());
                     break;
                 case SERVER_ONLINE:
                     for (LxServerListener listener : listeners) {
@@ -510,6 +495,42 @@ public class LxServer {
             return true;
         }
 
+        /**
+         * Applies a batch of state updates to the controls in one pass. Listeners are notified once per control and
+         * updated state name, after all states of the batch are set.
+         *
+         * @param batch
+         *            state updates received from the Miniserver
+         */
+        private void updateStates(LxWsStateUpdateBatch batch) {
+            Map<LxControl, Set<String>> updatedControls = new LinkedHashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                LxUuid uuid = batch.getUuid(i);
+                Double value = batch.getValue(i);
+                String text = batch.getText(i);
+                Map<LxUuid, LxControlState> perStateUuid = findState(uuid);
+                if (perStateUuid == null) {
+                    continue;
+                }
+                for (LxControlState state : perStateUuid.values()) {
+                    state.setValue(value, text);
+                    LxControl control = state.getControl();
+                    if (control != null) {
+                        logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId, uuid,
+                                control.getName(), state.getName(), value, text);
+                        updatedControls.computeIfAbsent(control, c -> new LinkedHashSet<>())
+                                .add(state.getName().toLowerCase());
+                    } else {
+                        logger.debug("[{}] State update {} ({}) of unknown control", debugId, uuid, state.getName());
+                    }
+                }
+            }
+            updatedControls.forEach((control, stateNames) -> {
+                for (LxServerListener listener : listeners) {
+                    listener.onControlStateUpdate(control, stateNames);
+                }
+            });
+        }
     }
 
     /**
@@ -569,6 +590,12 @@ public class LxServer {
         removeUnusedFromMap(categories);
         removeUnusedFromMap(controls);
         removeUnusedFromMap(states);
+
+        Map<String, LxControl> names = new HashMap<>();
+        for (LxControl control : controls.values()) {
+            names.putIfAbsent(control.getName(), control);
+        }
+        controlsByName = names;
     }
 
     /**
@@ -46,8 +46,8 @@ class LxServerEvent {
          */
         RECEIVED_CONFIG,
         /**
-         * Received control's state value or text update from Miniserver. There is a {@link LxWsStateUpdateEvent} object
-         * associated.
+         * Received controls' state value or text updates from Miniserver. There is a {@link LxWsStateUpdateBatch}
+         * object associated.
          */
         STATE_UPDATE,
         /**
@@ -13,6 +13,7 @@
 package org.openhab.binding.loxone.internal.core;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface to get notifications about {@link LxServer} asynchronous events.
@@ -52,14 +53,15 @@ public interface LxServerListener {
     void onServerGoesOffline(LxOfflineReason reason, String details);
 
     /**
-     * Called by {@link LxServer} thread when a state of a control is updated on the Loxone Miniserver
+     * Called by {@link LxServer} thread when states of a control are updated on the Loxone Miniserver. All updates of
+     * the control received in one batch are reported with a single call.
      *
      * @param control
      *            control object, which state changed
-     * @param stateName
-     *            name of the state that was updated
+     * @param stateNames
+     *            names of the states that were updated
      */
-    void onControlStateUpdate(LxControl control, String stateName);
+    void onControlStateUpdate(LxControl control, Set<String> stateNames);
 
     Object getSetting(String name);
 
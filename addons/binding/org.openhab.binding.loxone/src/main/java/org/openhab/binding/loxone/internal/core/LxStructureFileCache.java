@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A copy of Miniserver's structure file (LoxAPP3.json) stored on disk.
+ * <p>
+ * The file is stored together with its last modification time reported by the Miniserver, so after a restart it can
+ * be used instead of downloading it again, as long as the configuration of the Miniserver has not changed.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxStructureFileCache {
+    private static final String CACHE_FOLDER_NAME = "loxone";
+
+    private final File file;
+    private final int debugId;
+    private final Logger logger = LoggerFactory.getLogger(LxStructureFileCache.class);
+
+    /**
+     * Create a cache of the structure file for a Miniserver
+     *
+     * @param debugId
+     *            instance of the client used for debugging purposes only
+     * @param miniserverId
+     *            unique identifier of the Miniserver (e.g. serial number or host address)
+     */
+    LxStructureFileCache(int debugId, String miniserverId) {
+        this.debugId = debugId;
+        String fileName = "LoxAPP3-" + miniserverId.replaceAll("[^a-zA-Z0-9]", "") + ".json";
+        file = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), fileName);
+    }
+
+    /**
+     * Read structure file from disk, if it was stored with given modification time
+     *
+     * @param lastModified
+     *            last modification time of the structure file reported by the Miniserver
+     * @return
+     *         content of the structure file or null if it is not stored or was modified since
+     */
+    String load(String lastModified) {
+        if (lastModified == null || !file.exists()) {
+            return null;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            if (!lastModified.equals(reader.readLine())) {
+                logger.debug("[{}] Cached structure file is outdated", debugId);
+                return null;
+            }
+            StringBuilder content = new StringBuilder((int) file.length());
+            char[] buffer = new char[8192];
+            int length;
+            while ((length = reader.read(buffer)) != -1) {
+                content.append(buffer, 0, length);
+            }
+            return content.toString();
+        } catch (IOException e) {
+            logger.debug("[{}] Error reading cached structure file {}: {}", debugId, file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store structure file on disk
+     *
+     * @param lastModified
+     *            last modification time of the structure file reported by the Miniserver
+     * @param content
+     *            content of the structure file
+     */
+    void store(String lastModified, String content) {
+        file.getParentFile().mkdirs();
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write(lastModified);
+            writer.newLine();
+            writer.write(content);
+            logger.debug("[{}] Stored structure file {} modified {}", debugId, file, lastModified);
+        } catch (IOException e) {
+            logger.debug("[{}] Error storing structure file {}: {}", debugId, file, e.getMessage());
+        }
+    }
+}
@@ -12,9 +12,6 @@
  */
 package org.openhab.binding.loxone.internal.core;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
 /**
  * Unique identifier of an object on Loxone Miniserver.
  * <p>
@@ -25,6 +22,10 @@ import java.nio.ByteOrder;
  *
  */
 public class LxUuid {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // order of the bytes of a binary UUID in its text representation, -1 is a separator
+    private static final int[] BINARY_ORDER = { 3, 2, 1, 0, -1, 5, 4, -1, 7, 6, -1, 8, 9, 10, 11, 12, 13, 14, 15 };
+
     private String uuid;
     private String uuidOriginal;
     private boolean updated;
@@ -39,14 +40,30 @@ public class LxUuid {
         init(uuid);
     }
 
-    public LxUuid(byte data[], int offset) {
-        String id = String.format("%08x-%04x-%04x-%02x%02x%02x%02x%02x%02x%02x%02x",
-                ByteBuffer.wrap(data, offset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt(),
-                ByteBuffer.wrap(data, offset + 4, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(),
-                ByteBuffer.wrap(data, offset + 6, 2).order(ByteOrder.LITTLE_ENDIAN).getShort(), data[offset + 8],
-                data[offset + 9], data[offset + 10], data[offset + 11], data[offset + 12], data[offset + 13],
-                data[offset + 14], data[offset + 15]);
-        init(id);
+    /**
+     * Create a new {@link LxUuid} object from its binary representation received from Miniserver.
+     *
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the 16 bytes of the UUID are expected
+     */
+    public LxUuid(byte data[], int offset) throws IndexOutOfBoundsException {
+        // first three fields are little endian, the last field is a byte array
+        char[] id = new char[BINARY_ORDER.length * 2 - 3];
+        int pos = 0;
+        for (int index : BINARY_ORDER) {
+            if (index < 0) {
+                id[pos++] = '-';
+            } else {
+                int b = data[offset + index];
+                id[pos++] = HEX_DIGITS[(b >> 4) & 0x0f];
+                id[pos++] = HEX_DIGITS[b & 0x0f];
+            }
+        }
+        uuidOriginal = new String(id);
+        uuid = uuidOriginal.toUpperCase();
+        updated = true;
     }
 
     private void init(String uuid) {
@@ -72,6 +72,9 @@ class LxWsClient {
 
     private String swVersion;
     private String macAddress;
+    private String configLastModified;
+    private String configSwVersion;
+    private String pendingLastModified;
     private LxWsSecurityType securityType;
     private final Gson gson = new Gson();
     private ScheduledFuture<?> timeout;
@@ -90,6 +93,7 @@ class LxWsClient {
     private static final String CMD_KEEPALIVE = "keepalive";
     private static final String CMD_ENABLE_UPDATES = "jdev/sps/enablebinstatusupdate";
     private static final String CMD_GET_APP_CONFIG = "data/LoxAPP3.json";
+    private static final String CMD_GET_APP_CONFIG_VERSION = "jdev/sps/LoxAPPversion3";
     private static final String CMD_CFG_API = "jdev/cfg/api";
 
     /**
@@ -111,6 +115,10 @@ class LxWsClient {
          * Connection confirmed and established
          */
         CONNECTED,
+        /**
+         * Waiting for last modification time of Miniserver's configuration
+         */
+        CHECKING_CONFIGURATION,
         /**
          * Waiting for Miniserver's configuration
          */
@@ -622,12 +630,11 @@ class LxWsClient {
 
         @OnWebSocketMessage
         public void onBinaryMessage(byte data[], int msgOffset, int msgLength) {
-            int offset = msgOffset;
-            int length = msgLength;
             if (logger.isTraceEnabled()) {
                 String s = Hex.encodeHexString(data);
-                logger.trace("[{}] Binary message: length {}: {}", debugId, length, s);
+                logger.trace("[{}] Binary message: length {}: {}", debugId, msgLength, s);
             }
+            MessageType stateTable = null;
             stateMachineLock.lock();
             try {
                 if (state != ClientState.RUNNING) {
@@ -636,7 +643,7 @@ class LxWsClient {
                 // websocket will receive header and data in turns as two separate binary messages
                 if (header == null) {
                     // header expected now
-                    header = new LxWsBinaryHeader(data, offset);
+                    header = new LxWsBinaryHeader(data, msgOffset);
                     switch (header.type) {
                         // following header types precede data in next message
                         case BINARY_FILE:
@@ -655,20 +662,10 @@ class LxWsClient {
                     switch (header.type) {
                         case EVENT_TABLE_OF_VALUE_STATES:
                             stopResponseTimeout();
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(true, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            stateTable = header.type;
                             break;
                         case EVENT_TABLE_OF_TEXT_STATES:
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(false, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            stateTable = header.type;
                             break;
                         case KEEPALIVE_RESPONSE:
                         case TEXT_MESSAGE:
@@ -683,6 +680,17 @@ class LxWsClient {
             } finally {
                 stateMachineLock.unlock();
             }
+            if (stateTable != null) {
+                // the state table does not change the state machine, so it is decoded without holding the lock and
+                // passed to the server thread as a single batch
+                try {
+                    LxWsStateUpdateBatch batch = new LxWsStateUpdateBatch(
+                            stateTable == MessageType.EVENT_TABLE_OF_VALUE_STATES, data, msgOffset, msgLength);
+                    notifyMaster(EventType.STATE_UPDATE, null, batch);
+                } catch (IndexOutOfBoundsException e) {
+                    logger.debug("[{}] malformed binary message received, discarded", debugId);
+                }
+            }
         }
 
         @OnWebSocketMessage
@@ -705,22 +713,20 @@ class LxWsClient {
                     case RUNNING:
                         processResponse(msg);
                         break;
+                    case CHECKING_CONFIGURATION:
+                        stopResponseTimeout();
+                        checkConfiguration(msg);
+                        break;
                     case UPDATING_CONFIGURATION:
-                        try {
-                            stopResponseTimeout();
-                            LxJsonApp3 config = gson.fromJson(msg, LxJsonApp3.class);
-                            if (config.msInfo != null) {
-                                config.msInfo.swVersion = swVersion;
-                                config.msInfo.macAddress = macAddress;
+                        stopResponseTimeout();
+                        logger.debug("[{}] Received configuration from server", debugId);
+                        if (processConfiguration(msg, pendingLastModified)) {
+                            if (pendingLastModified != null) {
+                                LxStructureFileCache cache = getStructureFileCache();
+                                String lastModified = pendingLastModified;
+                                SCHEDULER.execute(() -> cache.store(lastModified, msg));
                             }
-                            logger.debug("[{}] Received configuration from server", debugId);
-                            notifyMaster(EventType.RECEIVED_CONFIG, null, config);
-                            setClientState(ClientState.RUNNING);
-                            notifyMaster(EventType.SERVER_ONLINE, null, null);
-                            if (sendCmdWithResp(CMD_ENABLE_UPDATES, false, false) == null) {
-                                notifyAndClose(LxOfflineReason.COMMUNICATION_ERROR, "Failed to enable state updates.");
-                            }
-                        } catch (JsonParseException e) {
+                        } else {
                             notifyAndClose(LxOfflineReason.INTERNAL_ERROR, "Error processing received configuration");
                         }
                         break;
@@ -733,6 +739,99 @@ class LxWsClient {
             }
         }
 
+        /**
+         * Process the last modification time of Miniserver's configuration. If the configuration has not changed since
+         * it was last received, the client goes online without passing it again to the {@link LxServer}. If it is
+         * stored on disk, it is read from there, otherwise it is requested from the Miniserver.
+         *
+         * @param msg
+         *            websocket message with the response to the configuration version request
+         */
+        private void checkConfiguration(String msg) {
+            String lastModified = null;
+            LxJsonSubResponse response = getSubResponse(msg);
+            if (response != null && response.code == 200 && response.value != null
+                    && response.value.isJsonPrimitive()) {
+                lastModified = response.value.getAsString();
+            }
+            logger.debug("[{}] Configuration last modified: {}", debugId, lastModified);
+            if (lastModified != null) {
+                if (lastModified.equals(configLastModified) && swVersion != null
+                        && swVersion.equals(configSwVersion)) {
+                    logger.debug("[{}] Configuration not changed since last connection", debugId);
+                    startStateUpdates();
+                    return;
+                }
+                String cached = getStructureFileCache().load(lastModified);
+                if (cached != null) {
+                    logger.debug("[{}] Using configuration stored on disk", debugId);
+                    if (processConfiguration(cached, lastModified)) {
+                        return;
+                    }
+                }
+            }
+            pendingLastModified = lastModified;
+            setClientState(ClientState.UPDATING_CONFIGURATION);
+            if (sendCmdNoResp(CMD_GET_APP_CONFIG, false)) {
+                startResponseTimeout();
+            } else {
+                notifyAndClose(LxOfflineReason.INTERNAL_ERROR, "Error sending get config command.");
+            }
+        }
+
+        /**
+         * Parse Miniserver's configuration, pass it to the {@link LxServer} and start receiving state updates.
+         *
+         * @param json
+         *            content of the configuration file
+         * @param lastModified
+         *            last modification time of the configuration or null if not known
+         * @return
+         *         true if configuration was processed, false if it could not be parsed
+         */
+        private boolean processConfiguration(String json, String lastModified) {
+            LxJsonApp3 config;
+            try {
+                config = gson.fromJson(json, LxJsonApp3.class);
+            } catch (JsonParseException e) {
+                logger.debug("[{}] Error parsing configuration: {}", debugId, e.getMessage());
+                return false;
+            }
+            if (config == null) {
+                return false;
+            }
+            if (config.msInfo != null) {
+                config.msInfo.swVersion = swVersion;
+                config.msInfo.macAddress = macAddress;
+            }
+            notifyMaster(EventType.RECEIVED_CONFIG, null, config);
+            configLastModified = lastModified;
+            configSwVersion = swVersion;
+            startStateUpdates();
+            return true;
+        }
+
+        /**
+         * Go online and request the Miniserver to send state updates.
+         */
+        private void startStateUpdates() {
+            setClientState(ClientState.RUNNING);
+            notifyMaster(EventType.SERVER_ONLINE, null, null);
+            if (sendCmdWithResp(CMD_ENABLE_UPDATES, false, false) == null) {
+                notifyAndClose(LxOfflineReason.COMMUNICATION_ERROR, "Failed to enable state updates.");
+            }
+        }
+
+        /**
+         * Get the cache of the structure file of the connected Miniserver.
+         *
+         * @return
+         *         structure file cache, identified by Miniserver's serial number if known or its host address
+         */
+        private LxStructureFileCache getStructureFileCache() {
+            return new LxStructureFileCache(debugId, macAddress != null ? macAddress : host.getHostAddress());
+        }
+
         LxJsonSubResponse getSubResponse(String msg) {
             try {
                 LxJsonSubResponse subResp = gson.fromJson(msg, LxJsonResponse.class).subResponse;
@@ -951,14 +1050,14 @@ class LxWsClient {
 
         /**
          * Perform actions after user authentication is successfully completed.
-         * This method sends a request to receive Miniserver configuration.
+         * This method sends a request to receive last modification time of Miniserver configuration.
          */
         private void authenticated() {
             logger.debug("[{}] Websocket authentication successfull.", debugId);
             stateMachineLock.lock();
             try {
-                setClientState(ClientState.UPDATING_CONFIGURATION);
-                if (sendCmdNoResp(CMD_GET_APP_CONFIG, false)) {
+                setClientState(ClientState.CHECKING_CONFIGURATION);
+                if (sendCmdNoResp(CMD_GET_APP_CONFIG_VERSION, false)) {
                     startResponseTimeout();
                     startKeepAlive();
                 } else {
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A batch of controls' state updates received from Loxone Miniserver in one event table
+ * <p>
+ * The event table is only copied into primitive arrays when it is received, so the websocket thread is not blocked by
+ * a large table (e.g. the initial dump of all states). The {@link LxUuid} objects are created when the batch is
+ * applied to the controls by the {@link LxServer} thread.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxWsStateUpdateBatch {
+    private static final int UUID_SIZE = 16;
+    private static final int VALUE_EVENT_SIZE = 24;
+    private static final int TEXT_EVENT_HEADER_SIZE = 36;
+
+    private final boolean valueEvents;
+    private byte[] uuids;
+    private double[] values;
+    private String[] texts;
+    private int size;
+
+    /**
+     * Create new batch of state updates from binary message
+     *
+     * @param isValueEvent
+     *            true if the events update double values, false if they update text messages
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the first event is expected
+     * @param length
+     *            length of all events in the buffer
+     */
+    LxWsStateUpdateBatch(boolean isValueEvent, byte data[], int offset, int length) throws IndexOutOfBoundsException {
+        valueEvents = isValueEvent;
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+        int end = offset + length;
+        int position = offset;
+
+        if (isValueEvent) {
+            int count = (length + VALUE_EVENT_SIZE - 1) / VALUE_EVENT_SIZE;
+            uuids = new byte[count * UUID_SIZE];
+            values = new double[count];
+            while (position < end) {
+                System.arraycopy(data, position, uuids, size * UUID_SIZE, UUID_SIZE);
+                values[size++] = buffer.getDouble(position + UUID_SIZE);
+                position += VALUE_EVENT_SIZE;
+            }
+            return;
+        }
+
+        int count = Math.max(1, length / TEXT_EVENT_HEADER_SIZE);
+        uuids = new byte[count * UUID_SIZE];
+        texts = new String[count];
+        while (position < end) {
+            if (size == texts.length) {
+                uuids = Arrays.copyOf(uuids, size * 2 * UUID_SIZE);
+                texts = Arrays.copyOf(texts, size * 2);
+            }
+            System.arraycopy(data, position, uuids, size * UUID_SIZE, UUID_SIZE);
+            // icon UUID is not used
+            int textLen = buffer.getInt(position + 2 * UUID_SIZE);
+            texts[size++] = new String(data, position + TEXT_EVENT_HEADER_SIZE, textLen);
+            position += TEXT_EVENT_HEADER_SIZE + (textLen % 4 > 0 ? textLen + 4 - (textLen % 4) : textLen);
+        }
+    }
+
+    /**
+     * Get number of state updates in this batch
+     *
+     * @return
+     *         number of state updates
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get UUID of a state
+     *
+     * @param index
+     *            index of the state update in this batch
+     * @return
+     *         UUID of the state
+     */
+    LxUuid getUuid(int index) {
+        return new LxUuid(uuids, index * UUID_SIZE);
+    }
+
+    /**
+     * Get current value of a state
+     *
+     * @param index
+     *            index of the state update in this batch
+     * @return
+     *         current value of the state or null if the batch contains text updates
+     */
+    Double getValue(int index) {
+        return valueEvents ? values[index] : null;
+    }
+
+    /**
+     * Get current text value of a state
+     *
+     * @param index
+     *            index of the state update in this batch
+     * @return
+     *         current text value of the state or null if the batch contains value updates
+     */
+    String getText(int index) {
+        return valueEvents ? null : texts[index];
+    }
+}
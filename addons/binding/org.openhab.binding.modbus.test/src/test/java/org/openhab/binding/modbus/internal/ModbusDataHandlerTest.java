@@ -730,6 +730,30 @@ public class ModbusDataHandlerTest extends JavaTest {
         // no datetime, conversion not possible without transformation
     }
 
+    @SuppressWarnings("null")
+    @Test
+    public void testOnRegistersUnchangedValueNotUpdated() {
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "default", ModbusConstants.ValueType.INT16, null, new BasicModbusRegisterArray(
+                        new ModbusRegister[] { new BasicModbusRegister((byte) 0xff, (byte) 0xfd) }),
+                null);
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ChannelUID numberUID = dataHandler.getThing().getChannel(CHANNEL_NUMBER).getUID();
+        ChannelUID lastReadSuccessUID = dataHandler.getThing().getChannel(CHANNEL_LAST_READ_SUCCESS).getUID();
+
+        // Same value again, only last read success is updated
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0xff, (byte) 0xfd) }));
+        assertThat(stateUpdates.get(numberUID), is(equalTo(Arrays.asList(new DecimalType(-3)))));
+        assertThat(stateUpdates.get(lastReadSuccessUID).size(), is(equalTo(2)));
+
+        // Changed value is updated
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0xff, (byte) 0xfe) }));
+        assertThat(stateUpdates.get(numberUID), is(equalTo(Arrays.asList(new DecimalType(-3), new DecimalType(-2)))));
+        assertThat(stateUpdates.get(lastReadSuccessUID).size(), is(equalTo(3)));
+    }
+
     private void mockTransformation(String name, TransformationService service) throws InvalidSyntaxException {
         doReturn(Arrays.asList(new Object[] { null })).when(bundleContext)
                 .getServiceReferences(TransformationService.class, "(smarthome.transform=" + name + ")");
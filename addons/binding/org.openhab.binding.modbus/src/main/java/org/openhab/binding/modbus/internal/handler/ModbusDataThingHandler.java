@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -138,6 +139,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
+    private volatile long updateUnchangedValuesEveryMillis;
+    private volatile Map<ChannelUID, State> channelLastState = new HashMap<>();
+    private volatile long lastUnchangedValuesUpdateMillis;
+    private volatile boolean hasLastRawValue;
+    private volatile long lastRawValue;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -167,6 +173,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             // We *schedule* the REFRESH to avoid dead-lock situation where poller is trying update this
             // data thing with cached data (resulting in deadlock in two synchronized methods: this (handleCommand) and
             // onRegisters.
+            // Unchanged values are normally not updated to channels. Make sure they are with the refresh.
+            lastUnchangedValuesUpdateMillis = 0;
             scheduler.schedule(() -> poller.refresh(), 0, TimeUnit.SECONDS);
             return;
         } else if (hasConfigurationError()) {
@@ -328,6 +336,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         try {
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
             config = getConfigAs(ModbusDataConfiguration.class);
+            updateUnchangedValuesEveryMillis = config.getUpdateUnchangedValuesEveryMillis();
             Bridge bridge = getBridge();
             if (bridge == null) {
                 logger.debug("Thing {} '{}' has no bridge", getThing().getUID(), getThing().getLabel());
@@ -401,6 +410,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         childOfEndpoint = false;
         pollerHandler = null;
         channelCache = new HashMap<>();
+        updateUnchangedValuesEveryMillis = 0;
+        channelLastState = new HashMap<>();
+        lastUnchangedValuesUpdateMillis = 0;
+        hasLastRawValue = false;
+        lastRawValue = 0;
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
     }
@@ -621,15 +635,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     }
 
     private boolean containsOnOff(List<Class<? extends State>> channelAcceptedDataTypes) {
-        return channelAcceptedDataTypes.stream().anyMatch(clz -> {
-            return clz.equals(OnOffType.class);
-        });
+        return channelAcceptedDataTypes.contains(OnOffType.class);
     }
 
     private boolean containsOpenClosed(List<Class<? extends State>> acceptedDataTypes) {
-        return acceptedDataTypes.stream().anyMatch(clz -> {
-            return clz.equals(OpenClosedType.class);
-        });
+        return acceptedDataTypes.contains(OpenClosedType.class);
     }
 
     @Override
@@ -643,6 +653,22 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         if (readValueType == null) {
             return;
         }
+
+        // Compare the raw register data first. With unchanged data we can skip decoding and transformations
+        // altogether, which is the common case with frequent polling.
+        int firstRegister = readIndex.get() - pollStart;
+        int registerCount = Math.max(1, readValueType.getBits() / 16);
+        if (firstRegister + registerCount <= registers.size()) {
+            long rawValue = 0;
+            for (int i = 0; i < registerCount; i++) {
+                rawValue = (rawValue << 16) | registers.getRegister(firstRegister + i).toUnsignedShort();
+            }
+            if (!isValueUpdateNeeded(rawValue)) {
+                processUnchangedValue();
+                return;
+            }
+        }
+
         DecimalType numericState;
 
         // extractIndex:
@@ -681,6 +707,10 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        if (!isValueUpdateNeeded(boolValue ? 1 : 0)) {
+            processUnchangedValue();
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -777,23 +807,62 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         }
     }
 
+    /**
+     * Check whether the linked channels should be updated with the polled value
+     *
+     * @param rawValue raw bits of the polled value
+     * @return whether the value has changed since the previous poll, or the unchanged value is due for an update
+     */
+    private boolean isValueUpdateNeeded(long rawValue) {
+        boolean changed = !hasLastRawValue || lastRawValue != rawValue;
+        hasLastRawValue = true;
+        lastRawValue = rawValue;
+        return changed || isUnchangedValueUpdateDue(System.currentTimeMillis());
+    }
+
+    private boolean isUnchangedValueUpdateDue(long now) {
+        return now - lastUnchangedValuesUpdateMillis >= updateUnchangedValuesEveryMillis;
+    }
+
+    /**
+     * Update status and last successful read after polling value that has not changed since the previous poll
+     */
+    private void processUnchangedValue() {
+        synchronized (this) {
+            updateStatusIfChanged(ThingStatus.ONLINE);
+            ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+            if (isLinked(lastReadSuccessUID)) {
+                tryUpdateState(lastReadSuccessUID, new DateTimeType());
+            }
+        }
+    }
+
     /**
      * Update linked channels
      *
+     * Channels are updated only if their state has changed, or if updateUnchangedValuesEveryMillis has elapsed since
+     * the previous update.
+     *
      * @param numericState numeric state corresponding to polled data
      * @param boolValue boolean value corresponding to polled data
      * @return updated channel data
      */
     private Map<ChannelUID, State> processUpdatedValue(DecimalType numericState, boolean boolValue) {
         Map<@NonNull ChannelUID, @NonNull State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
+        long now = System.currentTimeMillis();
+        boolean updateUnchanged = isUnchangedValueUpdateDue(now);
+        if (updateUnchanged) {
+            lastUnchangedValuesUpdateMillis = now;
+        }
+        for (Entry<String, List<Class<? extends State>>> entry : CHANNEL_ID_TO_ACCEPTED_TYPES.entrySet()) {
+            String channelId = entry.getKey();
             ChannelUID channelUID = getChannelUID(channelId);
             if (!isLinked(channelUID)) {
-                return;
+                continue;
             }
-            List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
+            List<Class<? extends State>> acceptedDataTypes = entry.getValue();
             if (acceptedDataTypes.isEmpty()) {
-                return;
+                continue;
             }
 
             State boolLikeState;
@@ -810,6 +879,10 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                 if (boolLikeState != null) {
                     // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
                     transformedState = boolLikeState;
+                } else if (ModbusBindingConstantsInternal.CHANNEL_NUMBER.equals(channelId)) {
+                    // Number items accept the numeric state as is, no need for the State -> String -> State round
+                    // trip
+                    transformedState = numericState;
                 } else {
                     // Numeric states always go through transformation. This allows value of 17.5 to be
                     // converted to
@@ -827,7 +900,10 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                         channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
                         readValueType, boolValue,
                         readTransformation.isIdentityTransform() ? "<identity>" : readTransformation);
-                states.put(channelUID, transformedState);
+                if (updateUnchanged || !transformedState.equals(channelLastState.get(channelUID))) {
+                    channelLastState.put(channelUID, transformedState);
+                    states.put(channelUID, transformedState);
+                }
             } else {
                 String types = StringUtils.join(acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(),
                         ", ");
@@ -836,7 +912,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                         channelId, types, numericState, readValueType, boolValue,
                         readTransformation.isIdentityTransform() ? "<identity>" : readTransformation);
             }
-        });
+        }
         ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
         if (isLinked(lastReadSuccessUID)) {
             states.put(lastReadSuccessUID, new DateTimeType());
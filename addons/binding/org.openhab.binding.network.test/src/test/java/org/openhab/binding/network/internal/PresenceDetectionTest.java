@@ -20,7 +20,7 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -49,9 +49,6 @@ public class PresenceDetectionTest {
     @Mock
     PresenceDetectionListener listener;
 
-    @Mock
-    ExecutorService executorService;
-
     @Mock
     Consumer<PresenceDetectionValue> callback;
 
@@ -89,34 +86,37 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is started.
+    // We will check if the detection finishes in time, even if the checks do not.
     @Test
-    public void threadCountTest() {
-        assertNull(subject.executorService);
+    public void checkCountTest() {
+        assertNull(subject.detectionFinished);
 
-        doNothing().when(subject).performARPping(any());
+        doReturn(new CompletableFuture<>()).when(subject).performARPping(any());
         doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        doReturn(new CompletableFuture<>()).when(subject).performSystemPing();
+        doReturn(new CompletableFuture<>()).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFinished);
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionFinished);
+        verify(listener, times(1)).finalDetectionResult(any());
     }
 
     @Test
     public void partialAndFinalCallbackTests() throws InterruptedException, IOException {
-        doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
-        doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
-                any(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(networkUtils)
+                .nativePingAsync(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(networkUtils).nativeARPPingAsync(
+                eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
+        doReturn(CompletableFuture.completedFuture(true)).when(networkUtils).servicePingAsync(anyString(), anyInt(),
+                anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -135,28 +135,28 @@ public class PresenceDetectionTest {
 
     @Test
     public void cacheTest() throws InterruptedException, IOException {
-        doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
-        doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
-                any(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
-
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        CompletableFuture<Boolean> icmpPing = new CompletableFuture<>();
+        CompletableFuture<Boolean> arpPing = new CompletableFuture<>();
+        CompletableFuture<Boolean> servicePing = new CompletableFuture<>();
+        doReturn(icmpPing).when(networkUtils).nativePingAsync(eq(IpPingMethodEnum.WINDOWS_PING), anyString(),
+                anyInt());
+        doReturn(arpPing).when(networkUtils).nativeARPPingAsync(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
+                anyString(), any(), anyInt());
+        doReturn(servicePing).when(networkUtils).servicePingAsync(anyString(), anyInt(), anyInt());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionFinished);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
+        // Let the different presence detection checks respond now
+        icmpPing.complete(true);
+        arpPing.complete(true);
+        servicePing.complete(true);
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see SubnetSweep}
+ *
+ * @author agent - Initial contribution
+ */
+public class SubnetSweepTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, CompletableFuture<?>> probes = new ConcurrentHashMap<>();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private CompletableFuture<?> probe(String host) {
+        CompletableFuture<?> future = new CompletableFuture<>();
+        probes.put(host, future);
+        return future;
+    }
+
+    private List<String> hosts(int count) {
+        List<String> hosts = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            hosts.add("192.168.0." + i);
+        }
+        return hosts;
+    }
+
+    @Test
+    public void limitsConcurrentHosts() throws Exception {
+        SubnetSweep sweep = new SubnetSweep(hosts(5), this::probe, 2, 0, scheduler);
+        CompletableFuture<?> finished = sweep.start();
+
+        assertThat(probes.size(), is(2));
+
+        probes.get("192.168.0.1").complete(null);
+        waitForProbes(3);
+        assertThat(probes.containsKey("192.168.0.3"), is(true));
+
+        probes.get("192.168.0.2").complete(null);
+        probes.get("192.168.0.3").completeExceptionally(new Exception());
+        waitForProbes(5);
+        assertFalse(finished.isDone());
+
+        probes.get("192.168.0.4").complete(null);
+        probes.get("192.168.0.5").complete(null);
+        finished.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void limitsHostsPerSecond() throws Exception {
+        SubnetSweep sweep = new SubnetSweep(hosts(3), host -> CompletableFuture.completedFuture(null), 10, 20,
+                scheduler);
+        long start = System.nanoTime();
+        sweep.start().get(1, TimeUnit.SECONDS);
+        // The second and third host are started 50 ms apart
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void stopCancelsRunningProbes() throws Exception {
+        SubnetSweep sweep = new SubnetSweep(hosts(5), this::probe, 2, 0, scheduler);
+        CompletableFuture<?> finished = sweep.start();
+
+        sweep.stop();
+        assertTrue(finished.isDone());
+        assertTrue(probes.get("192.168.0.1").isCancelled());
+        assertTrue(probes.get("192.168.0.2").isCancelled());
+
+        // No more hosts are started
+        Thread.sleep(50);
+        assertThat(probes.size(), is(2));
+    }
+
+    @Test
+    public void stopLeavesNoDelayedStartBehind() throws Exception {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+        try {
+            SubnetSweep sweep = new SubnetSweep(hosts(3), this::probe, 10, 1, scheduler);
+            sweep.start();
+            assertThat(scheduler.getQueue().size(), is(1));
+
+            // Completing a probe while the next host waits for the rate limit replaces the delayed start
+            probes.get("192.168.0.1").complete(null);
+            Thread.sleep(50);
+            assertThat(scheduler.getQueue().size(), is(1));
+
+            sweep.stop();
+            assertThat(scheduler.getQueue().size(), is(0));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void finishesWithoutHosts() throws Exception {
+        SubnetSweep sweep = new SubnetSweep(Arrays.asList(), this::probe, 2, 0, scheduler);
+        assertTrue(sweep.start().isDone());
+    }
+
+    private void waitForProbes(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && probes.size() < count; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(probes.size(), is(count));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+
+/**
+ * Tests cases for the asynchronous pings of {@link NetworkUtils}. The arping tool is replaced by a script, which
+ * creates a marker file after a second.
+ *
+ * @author agent - Initial contribution
+ */
+public class NetworkUtilsTest {
+    private final NetworkUtils networkUtils = new NetworkUtils();
+
+    private Path directory;
+    private File script;
+    private File marker;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeFalse(System.getProperty("os.name").toLowerCase().contains("windows"));
+        directory = Files.createTempDirectory("networkUtilsTest");
+        marker = directory.resolve("marker").toFile();
+        script = directory.resolve("arping").toFile();
+        String content = "#!/bin/sh\nsleep 1\ntouch \"" + marker.getAbsolutePath() + "\"\n";
+        Files.write(script.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        assertTrue(script.setExecutable(true));
+    }
+
+    @After
+    public void tearDown() {
+        if (directory != null) {
+            marker.delete();
+            script.delete();
+            directory.toFile().delete();
+        }
+    }
+
+    private CompletableFuture<Boolean> arpPing() {
+        return networkUtils.nativeARPPingAsync(ArpPingUtilEnum.THOMAS_HABERT_ARPING_WITHOUT_TIMEOUT,
+                script.getAbsolutePath(), "eth0", "192.168.0.1", 10000);
+    }
+
+    @Test
+    public void pingRunsTheProcessToTheEnd() throws Exception {
+        assertTrue(arpPing().get(5, TimeUnit.SECONDS));
+        assertTrue(marker.exists());
+    }
+
+    @Test
+    public void cancellingThePingDestroysTheProcess() throws Exception {
+        CompletableFuture<Boolean> ping = arpPing();
+        assertTrue(ping.cancel(false));
+
+        // the script would have created the marker after a second
+        Thread.sleep(2000);
+        assertFalse(marker.exists());
+    }
+}
@@ -17,18 +17,24 @@ import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
@@ -47,6 +53,9 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class PresenceDetection implements IPRequestReceivedCallback {
     public static final double NOT_REACHABLE = -1;
+    public static final String THREADPOOL_NAME = "network";
+    public static final String JAVA_PING_THREADPOOL_NAME = "networkJavaPing";
+    private static final long IOS_WAKEUP_DELAY_IN_MS = 50;
     NetworkUtils networkUtils = new NetworkUtils();
     private final Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
@@ -71,9 +80,22 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    /**
+     * Shared by all presence detections, for handling results and timeouts. The checks themselves do not occupy a
+     * thread while waiting for the device to respond.
+     */
+    ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    /**
+     * Runs the java pings, which block their thread until the device responds or the timeout expires. Kept apart from
+     * the shared scheduler, so waiting java pings cannot delay the other checks.
+     */
+    ExecutorService javaPingExecutor = ThreadPoolManager.getPool(JAVA_PING_THREADPOOL_NAME);
+    /** Counted down when the ongoing presence detection is finished, null if there is no ongoing detection */
+    protected @Nullable CountDownLatch detectionFinished;
+    private final List<CompletableFuture<?>> runningChecks = new ArrayList<>();
+    private @Nullable ScheduledFuture<?> detectionTimeoutJob;
     private String dhcpState = "off";
-    Integer currentCheck = 0;
+    int currentCheck = 0;
     int detectionChecks;
 
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
@@ -218,14 +240,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. TCP connection attempts of all presence detections are multiplexed by the
+     * {@link org.openhab.binding.network.internal.utils.TcpConnectProber}, and the external ping utilities are watched
+     * by the {@link org.openhab.binding.network.internal.utils.ProcessWatcher}, so no thread is blocked while waiting
+     * for the device to respond.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -239,66 +259,59 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        final CountDownLatch finished;
+        Set<String> interfaceNames = null;
+        synchronized (this) {
+            if (detectionFinished != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            currentCheck = 0;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod != null) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != null) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        if (detectionChecks == 0) {
-            return false;
+            finished = new CountDownLatch(1);
+            detectionFinished = finished;
+            long detectionTimeout = timeoutInMS + 100 + (iosDevice ? IOS_WAKEUP_DELAY_IN_MS : 0);
+            detectionTimeoutJob = scheduler.schedule(() -> submitFinalResult(finished), detectionTimeout,
+                    TimeUnit.MILLISECONDS);
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
-
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            addCheck(finished, performServicePing(tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use an own executor for each network interface
+        // ARP ping for IPv4 addresses, on each network interface
         if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                addCheck(finished, performARPping(interfaceName));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
-                }
-                checkIfFinished();
-            });
+            if (pingMethod != IpPingMethodEnum.JAVA_PING) {
+                addCheck(finished, performSystemPing());
+            } else {
+                addCheck(finished, CompletableFuture.runAsync(this::performJavaPing, javaPingExecutor));
+            }
         }
 
         if (waitForDetectionToFinish) {
@@ -308,22 +321,42 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    private void addCheck(CountDownLatch finished, CompletableFuture<?> check) {
+        synchronized (this) {
+            if (detectionFinished == finished) {
+                runningChecks.add(check);
+            } else {
+                check.cancel(false);
+                return;
+            }
+        }
+        check.whenComplete((result, e) -> checkIfFinished(finished));
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and all checks still running are cancelled.
+     *
+     * @param finished The latch of the presence detection to finish
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+    private synchronized void submitFinalResult(CountDownLatch finished) {
+        // Do nothing if we are not in this detection process anymore
+        if (detectionFinished != finished) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        detectionFinished = null;
         detectionChecks = 0;
+        ScheduledFuture<?> timeoutJob = detectionTimeoutJob;
+        if (timeoutJob != null) {
+            timeoutJob.cancel(false);
+            detectionTimeoutJob = null;
+        }
+        for (CompletableFuture<?> check : runningChecks) {
+            check.cancel(false);
+        }
+        runningChecks.clear();
 
         PresenceDetectionValue v;
 
@@ -338,6 +371,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
         cache.setValue(v);
         updateListener.finalDetectionResult(v);
+        finished.countDown();
     }
 
     /**
@@ -345,33 +379,36 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param finished The latch of the presence detection the check belongs to
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(CountDownLatch finished) {
+        if (detectionFinished != finished) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
         }
-        submitFinalResult();
+        submitFinalResult(finished);
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch finished = detectionFinished;
+        if (finished == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            finished.await(timeoutInMS + 100, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
         }
+        submitFinalResult(finished);
     }
 
     /**
@@ -399,20 +436,24 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    /**
+     * Performs a TCP connection attempt to the given port.
+     *
+     * @return Completed when the check is finished
+     */
+    protected CompletableFuture<?> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            double pingTime = System.nanoTime();
-            if (networkUtils.servicePing(destination.getHostAddress(), tcpPort, timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
-                v.addReachableTcpService(tcpPort);
-                updateListener.partialDetectionResult(v);
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+        return handleResult(
+                startCheck(() -> networkUtils.servicePingAsync(destination.getHostAddress(), tcpPort, timeoutInMS), 0),
+                latency -> {
+                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
+                    v.addReachableTcpService(tcpPort);
+                    updateListener.partialDetectionResult(v);
+                }, e -> {
+                    // This should not happen and might be a user configuration issue, we log a warning message
+                    // therefore.
+                    logger.warn("Could not create a socket connection", e);
+                });
     }
 
     /**
@@ -422,26 +463,24 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      *
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
+     * @return Completed when the check is finished
      */
-    protected void performARPping(String interfaceName) {
-        try {
-            logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
-            if (iosDevice) {
+    protected CompletableFuture<?> performARPping(String interfaceName) {
+        logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+        long delay = 0;
+        if (iosDevice) {
+            try {
                 networkUtils.wakeUpIOS(destination);
-                Thread.sleep(50);
+                delay = IOS_WAKEUP_DELAY_IN_MS;
+            } catch (IOException e) {
+                logger.trace("Failed to wake up ip {}", hostname, e);
             }
-            double pingTime = System.nanoTime();
-            if (networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, destination.getHostAddress(),
-                    timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING, latency);
-                updateListener.partialDetectionResult(v);
-            }
-        } catch (IOException e) {
-            logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
         }
+        return handleResult(startCheck(() -> networkUtils.nativeARPPingAsync(arpPingMethod, arpPingUtilPath,
+                interfaceName, destination.getHostAddress(), timeoutInMS), delay), latency -> {
+                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING, latency);
+                    updateListener.partialDetectionResult(v);
+                }, e -> logger.trace("Failed to execute an arp ping for ip {}", hostname, e));
     }
 
     /**
@@ -464,20 +503,83 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
-    protected void performSystemPing() {
-        try {
-            logger.trace("Perform native ping presence detection for {}", hostname);
-            double pingTime = System.nanoTime();
-            if (networkUtils.nativePing(pingMethod, destination.getHostAddress(), timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
-                updateListener.partialDetectionResult(v);
+    /**
+     * Performs a ping with the native ping utility of the operating system.
+     *
+     * @return Completed when the check is finished
+     */
+    protected CompletableFuture<?> performSystemPing() {
+        logger.trace("Perform native ping presence detection for {}", hostname);
+        return handleResult(
+                startCheck(() -> networkUtils.nativePingAsync(pingMethod, destination.getHostAddress(), timeoutInMS),
+                        0),
+                latency -> {
+                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING, latency);
+                    updateListener.partialDetectionResult(v);
+                }, e -> logger.trace("Failed to execute a native ping for ip {}", hostname, e));
+    }
+
+    /**
+     * Start a check and determine its latency as soon as it completes, before the result is handed over to another
+     * thread.
+     *
+     * @param check Starts the check
+     * @param delayInMS Time to wait before the check is started
+     * @return Completed with the latency in milliseconds, or {@link #NOT_REACHABLE}. Cancelling it aborts the check.
+     */
+    private CompletableFuture<Double> startCheck(Supplier<CompletableFuture<Boolean>> check, long delayInMS) {
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            if (result.isDone()) {
+                return;
             }
-        } catch (IOException e) {
-            logger.trace("Failed to execute a native ping for ip {}", hostname, e);
-        } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
+            long pingTime = System.nanoTime();
+            CompletableFuture<Boolean> probe = check.get();
+            probe.whenComplete((reachable, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(reachable ? (double) Math.round((System.nanoTime() - pingTime) / 1000000.0f)
+                            : NOT_REACHABLE);
+                }
+            });
+            result.whenComplete((latency, e) -> {
+                if (result.isCancelled()) {
+                    probe.cancel(false);
+                }
+            });
+        };
+        if (delayInMS > 0) {
+            scheduler.schedule(start, delayInMS, TimeUnit.MILLISECONDS);
+        } else {
+            start.run();
         }
+        return result;
+    }
+
+    /**
+     * Hand the result of a check over to the shared scheduler.
+     *
+     * @param latency The latency determined by {@link #startCheck(Supplier, long)}
+     * @param onReachable Called with the latency if the device is reachable
+     * @param onError Called if the check failed
+     * @return Completed when the result is handled. Cancelling it aborts the check.
+     */
+    private CompletableFuture<Void> handleResult(CompletableFuture<Double> latency, Consumer<Double> onReachable,
+            Consumer<Throwable> onError) {
+        CompletableFuture<Void> result = latency.thenAcceptAsync(value -> {
+            if (value != NOT_REACHABLE) {
+                onReachable.accept(value);
+            }
+        }, scheduler);
+        result.whenComplete((ignored, e) -> {
+            if (result.isCancelled()) {
+                latency.cancel(false);
+            } else if (e != null) {
+                onError.accept(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return result;
     }
 
     @Override
@@ -496,7 +598,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         if (future != null && !future.isDone()) {
             future.cancel(true);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
+        // The detection does not block, the result is reported to the listener when it is finished
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(false), 0,
                 refreshIntervalInMS, TimeUnit.MILLISECONDS);
 
         enableDHCPListen(useDHCPsniffing);
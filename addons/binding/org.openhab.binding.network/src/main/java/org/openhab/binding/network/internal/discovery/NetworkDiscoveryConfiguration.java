@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.math.BigDecimal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Contains the discovery configuration and default values. The field names represent the configuration names,
+ * do not rename them if you don't intend to break the configuration interface.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class NetworkDiscoveryConfiguration {
+    public BigDecimal maxConcurrentHosts = BigDecimal.valueOf(128);
+    public BigDecimal maxHostsPerSecond = BigDecimal.ZERO;
+    public BigDecimal reachableHostsRescanIntervalInMinutes = BigDecimal.valueOf(5);
+}
@@ -14,15 +14,19 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
-import java.net.UnknownHostException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,10 +38,11 @@ import org.eclipse.smarthome.config.discovery.DiscoveryResultBuilder;
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
-import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -50,6 +55,9 @@ import org.slf4j.LoggerFactory;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * All hosts of the network are swept with non-blocking probes, see {@link SubnetSweep}. Hosts found reachable are
+ * not probed again for a while, their results are only refreshed on the following scans.
+ *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
@@ -66,10 +74,24 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable SubnetSweep sweep = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
+    private NetworkDiscoveryConfiguration discoveryConfiguration = new NetworkDiscoveryConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
+    /** Results of the hosts found reachable by the previous scans */
+    private final Map<String, ReachableHost> reachableHosts = new ConcurrentHashMap<>();
+
+    private static class ReachableHost {
+        final boolean pingReachable;
+        final List<Integer> tcpPorts;
+        final long probedAt;
+
+        ReachableHost(boolean pingReachable, List<Integer> tcpPorts, long probedAt) {
+            this.pingReachable = pingReachable;
+            this.tcpPorts = tcpPorts;
+            this.probedAt = probedAt;
+        }
+    }
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS, (int) Math.round(
@@ -92,6 +114,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        discoveryConfiguration = new Configuration(config).as(NetworkDiscoveryConfiguration.class);
     }
 
     @Override
@@ -102,12 +125,14 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
 
     @Override
     public void partialDetectionResult(PresenceDetectionValue value) {
-        final String ip = value.getHostAddress();
-        if (value.isPingReachable()) {
+        hostDetected(value.getHostAddress(), value.isPingReachable(), value.getReachableTCPports());
+    }
+
+    private void hostDetected(String ip, boolean pingReachable, List<Integer> tcpPorts) {
+        if (pingReachable) {
             newPingDevice(ip);
-        } else if (value.isTCPServiceReachable()) {
-            List<Integer> tcpServices = value.getReachableTCPports();
-            for (int port : tcpServices) {
+        } else {
+            for (int port : tcpPorts) {
                 newServiceDevice(ip, port);
             }
         }
@@ -118,67 +143,134 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the sweep of all IPs on each interface on the network
      */
     @Override
-    protected void startScan() {
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (sweep != null) {
             return;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        scannedIPcount = 0;
+        reachableHosts.keySet().retainAll(networkIPs);
+
+        // Determine the available tools once, instead of for every IP
+        final IpPingMethodEnum pingMethod = networkUtils.determinePingMethod();
+        final ArpPingUtilEnum arpPingMethod = networkUtils.determineNativeARPpingMethod(configuration.arpPingToolPath);
+        final Set<String> interfaceNames = arpPingMethod == ArpPingUtilEnum.UNKNOWN_TOOL ? Collections.emptySet()
+                : networkUtils.getInterfaceNames();
+        final long rescanInterval = TimeUnit.MINUTES
+                .toMillis(discoveryConfiguration.reachableHostsRescanIntervalInMinutes.longValue());
+
+        final SubnetSweep sweep = new SubnetSweep(networkIPs,
+                ip -> probeHost(ip, pingMethod, arpPingMethod, interfaceNames, rescanInterval),
+                discoveryConfiguration.maxConcurrentHosts.intValue(),
+                discoveryConfiguration.maxHostsPerSecond.intValue(), scheduler);
+        this.sweep = sweep;
+        final long startTime = System.currentTimeMillis();
+        sweep.start().thenRun(() -> {
+            logger.trace("Scan of {} IPs finished in {} ms", networkIPs.size(),
+                    System.currentTimeMillis() - startTime);
+            stopScan();
+        });
+    }
+
+    /**
+     * Probe a single host with ICMP and ARP pings and by connecting to the common TCP ports. The host is finished as
+     * soon as it responds to a ping, or all checks are done.
+     *
+     * @return Completed when the host is probed. Cancelling it aborts the checks.
+     */
+    private CompletableFuture<?> probeHost(String ip, IpPingMethodEnum pingMethod, ArpPingUtilEnum arpPingMethod,
+            Set<String> interfaceNames, long rescanInterval) {
+        ReachableHost known = reachableHosts.get(ip);
+        if (known != null && System.currentTimeMillis() - known.probedAt < rescanInterval) {
+            // Found recently, only renew the discovery results
+            hostDetected(ip, known.pingReachable, known.tcpPorts);
+            return CompletableFuture.completedFuture(null);
+        }
 
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+        final AtomicBoolean pingReachable = new AtomicBoolean();
+        final List<Integer> tcpPorts = Collections.synchronizedList(new ArrayList<>());
+        // The pings and connection attempts, and the stages evaluating their results
+        final List<CompletableFuture<Boolean>> probes = new ArrayList<>();
+        final List<CompletableFuture<?>> checks = new ArrayList<>();
+        final CompletableFuture<@Nullable Void> result = new CompletableFuture<>();
+
+        final CompletableFuture<Boolean> ping = networkUtils.nativePingAsync(pingMethod, ip, PING_TIMEOUT_IN_MS);
+        probes.add(ping);
+        checks.add(ping.thenAccept(reachable -> {
+            if (reachable) {
+                pingReachable.set(true);
+                result.complete(null);
+            }
+        }));
+        if (!interfaceNames.isEmpty()) {
             try {
-                s.setHostname(ip);
-            } catch (UnknownHostException unknownHostException) {
-                logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
-                continue;
+                networkUtils.wakeUpIOS(InetAddress.getByName(ip));
+            } catch (IOException e) {
+                logger.trace("Failed to wake up IP {}", ip, e);
             }
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
+            for (String interfaceName : interfaceNames) {
+                final CompletableFuture<Boolean> arpPing = networkUtils.nativeARPPingAsync(arpPingMethod,
+                        configuration.arpPingToolPath, interfaceName, ip, PING_TIMEOUT_IN_MS);
+                probes.add(arpPing);
+                checks.add(arpPing.thenAccept(reachable -> {
+                    if (reachable) {
+                        pingReachable.set(true);
+                        result.complete(null);
                     }
+                }));
+            }
+        }
+        for (int port : tcpServicePorts) {
+            final CompletableFuture<Boolean> servicePing = networkUtils.servicePingAsync(ip, port, PING_TIMEOUT_IN_MS);
+            probes.add(servicePing);
+            checks.add(servicePing.thenAccept(reachable -> {
+                if (reachable) {
+                    tcpPorts.add(port);
                 }
-            });
+            }));
         }
+
+        CompletableFuture.allOf(checks.toArray(new CompletableFuture<?>[checks.size()]))
+                .whenComplete((ignored, e) -> result.complete(null));
+        // Processes may take longer than their timeout to exit, do not wait for them
+        final ScheduledFuture<?> timeout = scheduler.schedule(() -> result.complete(null), PING_TIMEOUT_IN_MS + 100,
+                TimeUnit.MILLISECONDS);
+
+        result.whenComplete((ignored, e) -> {
+            timeout.cancel(false);
+            // Abort the remaining probes, cancelling them destroys the ping processes and closes the sockets
+            probes.forEach(probe -> probe.cancel(false));
+            if (result.isCancelled()) {
+                return;
+            }
+            List<Integer> ports;
+            synchronized (tcpPorts) {
+                ports = new ArrayList<>(tcpPorts);
+            }
+            if (pingReachable.get() || !ports.isEmpty()) {
+                reachableHosts.put(ip, new ReachableHost(pingReachable.get(), ports, System.currentTimeMillis()));
+                hostDetected(ip, pingReachable.get(), ports);
+            } else {
+                reachableHosts.remove(ip);
+            }
+        });
+        return result;
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
+        final SubnetSweep sweep = this.sweep;
+        if (sweep == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        service.shutdown();
-        executorService = null;
+        this.sweep = null;
+        sweep.stop();
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -187,7 +279,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called when a host of {@link #startScan()} has been probed.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -230,7 +322,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called when a host of {@link #startScan()} has been probed.
      *
      * @param ip The device IP
      */
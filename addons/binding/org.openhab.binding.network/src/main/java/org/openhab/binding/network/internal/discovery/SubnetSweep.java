@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Probes a list of hosts, with a limited number of hosts in progress at the same time and an optional limit for the
+ * number of hosts started per second. The probes are expected not to block, a new host is started as soon as the
+ * probe of another host completes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class SubnetSweep {
+    private final Iterator<String> hosts;
+    private final Function<String, CompletableFuture<?>> probe;
+    private final int maxConcurrentHosts;
+    private final long startIntervalInNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private final CompletableFuture<@Nullable Void> finished = new CompletableFuture<>();
+    private final Set<CompletableFuture<?>> running = new HashSet<>();
+    private int inProgress;
+    private long nextStart;
+    private boolean stopped;
+    private @Nullable ScheduledFuture<?> delayedStart;
+
+    /**
+     * @param hosts The hosts to probe
+     * @param probe Starts the probe of a host. The returned future is completed when the probe is finished.
+     * @param maxConcurrentHosts Maximum number of hosts in progress at the same time
+     * @param maxHostsPerSecond Maximum number of hosts started per second, or 0 for no limit
+     * @param scheduler Used for starting the probes
+     */
+    SubnetSweep(Iterable<String> hosts, Function<String, CompletableFuture<?>> probe, int maxConcurrentHosts,
+            int maxHostsPerSecond, ScheduledExecutorService scheduler) {
+        this.hosts = hosts.iterator();
+        this.probe = probe;
+        this.maxConcurrentHosts = Math.max(1, maxConcurrentHosts);
+        this.startIntervalInNanos = maxHostsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxHostsPerSecond : 0;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Start probing the hosts
+     *
+     * @return Completed when all hosts are probed, or the sweep is stopped
+     */
+    CompletableFuture<@Nullable Void> start() {
+        nextStart = System.nanoTime();
+        startMore();
+        return finished;
+    }
+
+    /**
+     * Stop the sweep. Probes in progress are cancelled, and no more hosts are started.
+     */
+    void stop() {
+        List<CompletableFuture<?>> cancel;
+        synchronized (this) {
+            stopped = true;
+            ScheduledFuture<?> delayedStart = this.delayedStart;
+            if (delayedStart != null) {
+                delayedStart.cancel(false);
+            }
+            cancel = new ArrayList<>(running);
+            running.clear();
+        }
+        cancel.forEach(future -> future.cancel(false));
+        finished.complete(null);
+    }
+
+    private void startMore() {
+        List<String> toStart = new ArrayList<>();
+        synchronized (this) {
+            // Replaced by a new delayed start below if the rate limit still applies
+            ScheduledFuture<?> pending = delayedStart;
+            if (pending != null) {
+                pending.cancel(false);
+                delayedStart = null;
+            }
+            while (!stopped && inProgress < maxConcurrentHosts && hosts.hasNext()) {
+                if (startIntervalInNanos > 0) {
+                    long now = System.nanoTime();
+                    if (now - nextStart < 0) {
+                        delayedStart = scheduler.schedule(this::startMore, nextStart - now, TimeUnit.NANOSECONDS);
+                        break;
+                    }
+                    nextStart = Math.max(now, nextStart) + startIntervalInNanos;
+                }
+                toStart.add(hosts.next());
+                inProgress++;
+            }
+            if (inProgress == 0 && delayedStart == null && !stopped) {
+                stopped = true;
+                finished.complete(null);
+                return;
+            }
+        }
+
+        for (String host : toStart) {
+            CompletableFuture<?> future;
+            try {
+                future = probe.apply(host);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            final CompletableFuture<?> started = future;
+            synchronized (this) {
+                if (stopped) {
+                    started.cancel(false);
+                    continue;
+                }
+                running.add(started);
+            }
+            // Continue asynchronously, probes may complete right away
+            started.whenCompleteAsync((result, e) -> {
+                synchronized (this) {
+                    running.remove(started);
+                    inProgress--;
+                }
+                startMore();
+            }, scheduler);
+        }
+    }
+}
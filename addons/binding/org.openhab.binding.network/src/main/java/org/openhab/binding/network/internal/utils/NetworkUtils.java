@@ -15,6 +15,7 @@ package org.openhab.binding.network.internal.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.ConnectException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
@@ -28,11 +29,14 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.SystemUtils;
@@ -48,6 +52,11 @@ import org.eclipse.smarthome.io.net.exec.ExecUtil;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    /**
+     * Additional time given to external ping utilities to exit, after the ping timeout passed
+     */
+    private static final int PROCESS_EXIT_MARGIN_IN_MS = 1000;
+
     /**
      * Gets every IPv4 Address on each Interface except the loopback
      * The Address format is ip/subnet
@@ -172,6 +181,20 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Try to establish a tcp connection to the given port, without blocking the calling thread.
+     * See {@link TcpConnectProber}.
+     *
+     * @param host The IP address
+     * @param port The tcp port. Must be not 0.
+     * @param timeout Timeout in ms
+     * @return Completed with true if the connection was established, and false if a timeout occurred or the
+     *         connection was denied.
+     */
+    public CompletableFuture<Boolean> servicePingAsync(String host, int port, int timeout) {
+        return TcpConnectProber.getInstance().probe(new InetSocketAddress(host, port), timeout);
+    }
+
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
@@ -236,36 +259,72 @@ public class NetworkUtils {
      */
     public boolean nativePing(@Nullable IpPingMethodEnum method, String hostname, int timeoutInMS)
             throws IOException, InterruptedException {
-        Process proc;
+        List<String> command = nativePingCommand(method, hostname, timeoutInMS);
+        if (command == null) {
+            return false;
+        }
+        Process proc = new ProcessBuilder(command).start();
+        return isNativePingSuccessful(method, proc, proc.waitFor());
+    }
+
+    /**
+     * Use the native ping utility of the operating system to detect device presence, without blocking the calling
+     * thread. See {@link ProcessWatcher}.
+     *
+     * @param hostname The DNS name, IPv4 or IPv6 address. Must not be null.
+     * @param timeoutInMS Timeout in milliseconds. Be aware that DNS resolution is not part of this timeout.
+     * @return Completed with true if the device responded. Completed exceptionally if the ping command could not be
+     *         executed.
+     */
+    public CompletableFuture<Boolean> nativePingAsync(@Nullable IpPingMethodEnum method, String hostname,
+            int timeoutInMS) {
+        List<String> command = nativePingCommand(method, hostname, timeoutInMS);
+        if (command == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Process> watched = startAndWatch(command, timeoutInMS);
+        return forwardCancellation(watched, watched.thenApply(proc -> {
+            try {
+                return isNativePingSuccessful(method, proc, proc.exitValue());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                ProcessWatcher.closeStreams(proc);
+            }
+        }));
+    }
+
+    private @Nullable List<String> nativePingCommand(@Nullable IpPingMethodEnum method, String hostname,
+            int timeoutInMS) {
+        if (method == null) {
+            return null;
+        }
         // Yes, all supported operating systems have their own ping utility with a different command line
         switch (method) {
             case IPUTILS_LINUX_PING:
-                proc = new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname)
-                        .start();
-                break;
+                return Arrays.asList("ping", "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname);
             case MAC_OS_PING:
-                proc = new ProcessBuilder("ping", "-t", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname)
-                        .start();
-                break;
+                return Arrays.asList("ping", "-t", String.valueOf(timeoutInMS / 1000), "-c", "1", hostname);
             case WINDOWS_PING:
-                proc = new ProcessBuilder("ping", "-w", String.valueOf(timeoutInMS), "-n", "1", hostname).start();
-                break;
+                return Arrays.asList("ping", "-w", String.valueOf(timeoutInMS), "-n", "1", hostname);
             case JAVA_PING:
             default:
                 // We cannot estimate the command line for any other operating system and just return false
-                return false;
+                return null;
         }
+    }
 
+    private boolean isNativePingSuccessful(@Nullable IpPingMethodEnum method, Process proc, int result)
+            throws IOException {
         // The return code is 0 for a successful ping, 1 if device didn't
         // respond, and 2 if there is another error like network interface
         // not ready.
         // Exception: return code is also 0 in Windows for all requests on the local subnet.
         // see https://superuser.com/questions/403905/ping-from-windows-7-get-no-reply-but-sets-errorlevel-to-0
         if (method != IpPingMethodEnum.WINDOWS_PING) {
-            return proc.waitFor() == 0;
+            return result == 0;
         }
 
-        int result = proc.waitFor();
         if (result != 0) {
             return false;
         }
@@ -287,6 +346,40 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Start the given command and wait for it to exit with the {@link ProcessWatcher}.
+     */
+    private CompletableFuture<Process> startAndWatch(List<String> command, int timeoutInMS) {
+        Process proc;
+        try {
+            proc = new ProcessBuilder(command).start();
+        } catch (IOException e) {
+            CompletableFuture<Process> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+        CompletableFuture<Integer> exit = ProcessWatcher.getInstance().watch(proc,
+                timeoutInMS + PROCESS_EXIT_MARGIN_IN_MS);
+        // Cancelling the result destroys the process
+        return forwardCancellation(exit, exit.thenApply(code -> proc));
+    }
+
+    /**
+     * Cancel the source future if the dependent future is cancelled. A dependent stage like
+     * {@link CompletableFuture#thenApply} does not pass its cancellation on to its source.
+     *
+     * @return The dependent future
+     */
+    private static <T> CompletableFuture<T> forwardCancellation(CompletableFuture<?> source,
+            CompletableFuture<T> dependent) {
+        dependent.whenComplete((r, e) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(false);
+            }
+        });
+        return dependent;
+    }
+
     public enum ArpPingUtilEnum {
         UNKNOWN_TOOL,
         IPUTILS_ARPING,
@@ -310,25 +403,53 @@ public class NetworkUtils {
      */
     public boolean nativeARPPing(@Nullable ArpPingUtilEnum arpingTool, @Nullable String arpUtilPath,
             String interfaceName, String ipV4address, int timeoutInMS) throws IOException, InterruptedException {
-        if (arpUtilPath == null || arpingTool == null || arpingTool == ArpPingUtilEnum.UNKNOWN_TOOL) {
+        List<String> command = nativeARPPingCommand(arpingTool, arpUtilPath, interfaceName, ipV4address, timeoutInMS);
+        if (command == null) {
             return false;
         }
-        Process proc;
-        if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING_WITHOUT_TIMEOUT) {
-            proc = new ProcessBuilder(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address).start();
-        } else if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING) {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-i",
-                    interfaceName, ipV4address).start();
-        } else {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-I",
-                    interfaceName, ipV4address).start();
-        }
+        Process proc = new ProcessBuilder(command).start();
 
         // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
         // network interface not ready.
         return proc.waitFor() == 0;
     }
 
+    /**
+     * Execute the arping tool to perform an ARP ping (only for IPv4 addresses), without blocking the calling thread.
+     * See {@link #nativeARPPing(ArpPingUtilEnum, String, String, String, int)} and {@link ProcessWatcher}.
+     *
+     * @return Completed with true if the device responded. Completed exceptionally if the ping command could not be
+     *         executed.
+     */
+    public CompletableFuture<Boolean> nativeARPPingAsync(@Nullable ArpPingUtilEnum arpingTool,
+            @Nullable String arpUtilPath, String interfaceName, String ipV4address, int timeoutInMS) {
+        List<String> command = nativeARPPingCommand(arpingTool, arpUtilPath, interfaceName, ipV4address, timeoutInMS);
+        if (command == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Process> watched = startAndWatch(command, timeoutInMS);
+        return forwardCancellation(watched, watched.thenApply(proc -> {
+            ProcessWatcher.closeStreams(proc);
+            return proc.exitValue() == 0;
+        }));
+    }
+
+    private @Nullable List<String> nativeARPPingCommand(@Nullable ArpPingUtilEnum arpingTool,
+            @Nullable String arpUtilPath, String interfaceName, String ipV4address, int timeoutInMS) {
+        if (arpUtilPath == null || arpingTool == null || arpingTool == ArpPingUtilEnum.UNKNOWN_TOOL) {
+            return null;
+        }
+        if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING_WITHOUT_TIMEOUT) {
+            return Arrays.asList(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address);
+        } else if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING) {
+            return Arrays.asList(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-i", interfaceName,
+                    ipV4address);
+        } else {
+            return Arrays.asList(arpUtilPath, "-w", String.valueOf(timeoutInMS / 1000), "-c", "1", "-I", interfaceName,
+                    ipV4address);
+        }
+    }
+
     /**
      * iOS devices are in a deep sleep mode, where they only listen to UDP traffic on port 5353 (Bonjour service
      * discovery). A packet on port 5353 will wake up the network stack to respond to ARP pings at least.
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Waits for external processes like ping or arping to exit without blocking a thread per process. All watched
+ * processes are polled by a single thread, which is started on demand and ends if there is nothing left to do.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProcessWatcher {
+    private static final ProcessWatcher INSTANCE = new ProcessWatcher();
+    private static final long POLL_INTERVAL_IN_MS = 10;
+
+    private final List<WatchedProcess> processes = new ArrayList<>();
+    private @Nullable Thread thread;
+
+    private static class WatchedProcess {
+        final Process process;
+        final CompletableFuture<Integer> result;
+        final long deadline;
+
+        WatchedProcess(Process process, CompletableFuture<Integer> result, long deadline) {
+            this.process = process;
+            this.result = result;
+            this.deadline = deadline;
+        }
+    }
+
+    public static ProcessWatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Wait for the given process to exit.
+     *
+     * @param process The started process
+     * @param timeoutInMS Time after which the process is destroyed
+     * @return Completed with the exit code of the process, or exceptionally with a {@link TimeoutException} if the
+     *         process did not exit in time. Cancelling the result destroys the process.
+     */
+    public synchronized CompletableFuture<Integer> watch(Process process, int timeoutInMS) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        processes.add(
+                new WatchedProcess(process, result, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMS)));
+        if (thread == null) {
+            Thread thread = new Thread(this::run, "OH-binding-network-processWatcher");
+            thread.setDaemon(true);
+            this.thread = thread;
+            thread.start();
+        }
+        return result;
+    }
+
+    private void run() {
+        List<WatchedProcess> finished = new ArrayList<>();
+        while (true) {
+            long now = System.nanoTime();
+            synchronized (this) {
+                if (processes.isEmpty()) {
+                    // Nothing to do anymore. A new thread is started for the next process.
+                    thread = null;
+                    return;
+                }
+                for (Iterator<WatchedProcess> it = processes.iterator(); it.hasNext();) {
+                    WatchedProcess watched = it.next();
+                    if (watched.result.isDone() || !watched.process.isAlive() || now - watched.deadline >= 0) {
+                        it.remove();
+                        finished.add(watched);
+                    }
+                }
+            }
+
+            // Complete outside of the lock, the callers may continue with the result right away
+            for (WatchedProcess watched : finished) {
+                if (watched.result.isDone()) {
+                    destroy(watched.process);
+                } else if (!watched.process.isAlive()) {
+                    watched.result.complete(watched.process.exitValue());
+                } else {
+                    destroy(watched.process);
+                    watched.result.completeExceptionally(new TimeoutException("Process did not exit in time"));
+                }
+            }
+            finished.clear();
+
+            try {
+                Thread.sleep(POLL_INTERVAL_IN_MS);
+            } catch (InterruptedException e) {
+                // Not expected for this internal thread, keep on watching
+            }
+        }
+    }
+
+    /**
+     * Destroy the process and close its streams
+     */
+    public static void destroy(Process process) {
+        process.destroyForcibly();
+        closeStreams(process);
+    }
+
+    /**
+     * Close the streams of an exited process
+     */
+    public static void closeStreams(Process process) {
+        try {
+            process.getOutputStream().close();
+            process.getInputStream().close();
+            process.getErrorStream().close();
+        } catch (IOException ignored) {
+        }
+    }
+}
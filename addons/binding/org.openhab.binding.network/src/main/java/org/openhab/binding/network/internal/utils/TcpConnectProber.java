@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs TCP connection attempts without blocking the caller. All pending connection attempts are handled by a
+ * single thread with a {@link Selector}, no matter how many hosts and ports are probed. The thread is started on
+ * demand and ends if there is nothing left to do.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectProber {
+    private static final TcpConnectProber INSTANCE = new TcpConnectProber();
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectProber.class);
+
+    private final Queue<Probe> newProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    private static class Probe {
+        final SocketChannel channel;
+        final CompletableFuture<Boolean> result;
+        final long deadline;
+
+        Probe(SocketChannel channel, CompletableFuture<Boolean> result, long deadline) {
+            this.channel = channel;
+            this.result = result;
+            this.deadline = deadline;
+        }
+    }
+
+    public static TcpConnectProber getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Try to establish a tcp connection to the given address.
+     *
+     * @param address The address and port. Must be resolved.
+     * @param timeoutInMS Timeout in ms
+     * @return Completed with true if the connection was established, and false if a timeout occurred or the
+     *         connection was denied. Completed exceptionally if the connection could not be attempted at all.
+     *         Cancelling the result aborts the connection attempt.
+     */
+    public CompletableFuture<Boolean> probe(InetSocketAddress address, int timeoutInMS) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                close(channel);
+                result.complete(true);
+                return result;
+            }
+        } catch (ConnectException | NoRouteToHostException ignored) {
+            close(channel);
+            result.complete(false);
+            return result;
+        } catch (IOException e) {
+            close(channel);
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        newProbes.add(new Probe(channel, result, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMS)));
+        // Close the socket of a cancelled probe right away, instead of at the next timeout
+        result.whenComplete((connected, e) -> {
+            if (result.isCancelled()) {
+                wakeup();
+            }
+        });
+        synchronized (this) {
+            Selector selector = this.selector;
+            if (selector != null) {
+                selector.wakeup();
+                return result;
+            }
+            try {
+                selector = Selector.open();
+            } catch (IOException e) {
+                failNewProbes(e);
+                return result;
+            }
+            this.selector = selector;
+            final Selector threadSelector = selector;
+            Thread thread = new Thread(() -> run(threadSelector), "OH-binding-network-tcpProber");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return result;
+    }
+
+    private synchronized void wakeup() {
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+    }
+
+    private void run(Selector selector) {
+        try {
+            while (true) {
+                Probe probe;
+                while ((probe = newProbes.poll()) != null) {
+                    try {
+                        probe.channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    } catch (IOException e) {
+                        close(probe.channel);
+                        probe.result.completeExceptionally(e);
+                    }
+                }
+
+                if (selector.keys().isEmpty()) {
+                    synchronized (this) {
+                        if (newProbes.isEmpty()) {
+                            // Nothing to do anymore. A new thread is started for the next probe.
+                            this.selector = null;
+                            close(selector);
+                            return;
+                        }
+                    }
+                    continue;
+                }
+
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(expireProbes(selector))));
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Probe selected = (Probe) key.attachment();
+                    boolean connected;
+                    try {
+                        connected = selected.channel.finishConnect();
+                    } catch (IOException e) {
+                        connected = false;
+                    }
+                    if (connected) {
+                        close(selected.channel);
+                        selected.result.complete(true);
+                    } else if (!selected.channel.isConnectionPending()) {
+                        close(selected.channel);
+                        selected.result.complete(false);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("TCP connection attempts failed", e);
+            synchronized (this) {
+                for (SelectionKey key : selector.keys()) {
+                    Probe probe = (Probe) key.attachment();
+                    close(probe.channel);
+                    probe.result.completeExceptionally(e);
+                }
+                failNewProbes(e);
+                this.selector = null;
+                close(selector);
+            }
+        }
+    }
+
+    /**
+     * Abort the probes which timed out or were cancelled.
+     *
+     * @return Nanoseconds until the next probe times out
+     */
+    private long expireProbes(Selector selector) {
+        long now = System.nanoTime();
+        long nextTimeout = TimeUnit.SECONDS.toNanos(1);
+        for (SelectionKey key : selector.keys()) {
+            Probe probe = (Probe) key.attachment();
+            long remaining = probe.deadline - now;
+            if (remaining <= 0 || probe.result.isDone()) {
+                close(probe.channel);
+                probe.result.complete(false);
+            } else {
+                nextTimeout = Math.min(nextTimeout, remaining);
+            }
+        }
+        return nextTimeout;
+    }
+
+    private void failNewProbes(Exception e) {
+        Probe probe;
+        while ((probe = newProbes.poll()) != null) {
+            close(probe.channel);
+            probe.result.completeExceptionally(e);
+        }
+    }
+
+    private static void close(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -13,10 +13,13 @@
 package org.openhab.binding.sonos.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +32,7 @@ import org.apache.commons.lang.StringEscapeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
@@ -55,6 +59,10 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    private static final ThreadLocal<Deque<XMLReader>> XML_READERS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final ContentHandler NO_CONTENT_HANDLER = new DefaultHandler();
+
     private enum Element {
         TITLE,
         CLASS,
@@ -80,6 +88,32 @@ public class SonosXMLParser {
         desc;
     }
 
+    /**
+     * Parses the given input with an {@link XMLReader} of the current thread. Creating a reader is expensive, so the
+     * readers are kept per thread and reused. A thread may hold more than one reader, as handlers can parse embedded
+     * xml while their own document is still being parsed.
+     *
+     * @param handler the handler to receive the content of the document
+     * @param source the document to parse
+     * @throws IOException
+     * @throws SAXException
+     */
+    private static void parse(ContentHandler handler, InputSource source) throws IOException, SAXException {
+        Deque<XMLReader> readers = XML_READERS.get();
+        XMLReader reader = readers.poll();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        }
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(source);
+        } finally {
+            // do not keep a reference to the handler and its results
+            reader.setContentHandler(NO_CONTENT_HANDLER);
+            readers.push(reader);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -89,9 +123,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -109,9 +141,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -130,11 +160,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -153,9 +181,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -169,9 +195,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -185,9 +209,7 @@ public class SonosXMLParser {
     public static Map<String, String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -200,9 +222,7 @@ public class SonosXMLParser {
     public static Map<String, String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -215,9 +235,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -231,9 +249,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -251,14 +267,14 @@ public class SonosXMLParser {
 
         private String id;
         private String parentId;
-        private StringBuilder upnpClass = new StringBuilder();
-        private StringBuilder res = new StringBuilder();
-        private StringBuilder title = new StringBuilder();
-        private StringBuilder album = new StringBuilder();
-        private StringBuilder albumArtUri = new StringBuilder();
-        private StringBuilder creator = new StringBuilder();
-        private StringBuilder trackNumber = new StringBuilder();
-        private StringBuilder desc = new StringBuilder();
+        private final StringBuilder upnpClass = new StringBuilder();
+        private final StringBuilder res = new StringBuilder();
+        private final StringBuilder title = new StringBuilder();
+        private final StringBuilder album = new StringBuilder();
+        private final StringBuilder albumArtUri = new StringBuilder();
+        private final StringBuilder creator = new StringBuilder();
+        private final StringBuilder trackNumber = new StringBuilder();
+        private final StringBuilder desc = new StringBuilder();
         private Element element = null;
 
         private List<SonosEntry> artists = new ArrayList<SonosEntry>();
@@ -364,14 +380,14 @@ public class SonosXMLParser {
 
                 artists.add(new SonosEntry(id, title.toString(), parentId, album.toString(), albumArtUri.toString(),
                         creator.toString(), upnpClass.toString(), res.toString(), trackNumberVal, md));
-                title = new StringBuilder();
-                upnpClass = new StringBuilder();
-                res = new StringBuilder();
-                album = new StringBuilder();
-                albumArtUri = new StringBuilder();
-                creator = new StringBuilder();
-                trackNumber = new StringBuilder();
-                desc = new StringBuilder();
+                title.setLength(0);
+                upnpClass.setLength(0);
+                res.setLength(0);
+                album.setLength(0);
+                albumArtUri.setLength(0);
+                creator.setLength(0);
+                trackNumber.setLength(0);
+                desc.setLength(0);
             }
         }
 
@@ -857,10 +873,10 @@ public class SonosXMLParser {
     public static String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            try (InputStream inputStream = url.openStream()) {
+                parse(roomNameHandler, new InputSource(inputStream));
+            }
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -895,10 +911,10 @@ public class SonosXMLParser {
     public static String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            try (InputStream inputStream = url.openStream()) {
+                parse(modelNameHandler, new InputSource(inputStream));
+            }
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
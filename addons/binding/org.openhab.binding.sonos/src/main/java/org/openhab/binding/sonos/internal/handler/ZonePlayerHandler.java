@@ -30,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -135,8 +136,18 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
      */
     private static final int DEFAULT_REFRESH_INTERVAL = 60;
 
+    /**
+     * The number of entries requested with a single Browse action
+     */
+    private static final int BROWSE_PAGE_SIZE = 200;
+
     private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<String, String>());
 
+    /**
+     * Entries of the content directory by container id and filter, see {@link #getEntries(String, String)}
+     */
+    private final Map<String, BrowseResult> browseCache = new ConcurrentHashMap<>();
+
     private List<SonosMusicService> musicServices;
 
     private final Object upnpLock = new Object();
@@ -529,12 +540,14 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                     updateChannel(TUNEINSTATIONID);
                     break;
                 case "SavedQueuesUpdateID": // service ContentDirectoy
+                    invalidateBrowseCache("SQ:");
                     for (SonosEntry entry : getPlayLists()) {
                         options.add(new StateOption(entry.getTitle(), entry.getTitle()));
                     }
                     stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), PLAYLIST), options);
                     break;
                 case "FavoritesUpdateID": // service ContentDirectoy
+                    invalidateBrowseCache("FV:");
                     for (SonosEntry entry : getFavorites()) {
                         options.add(new StateOption(entry.getTitle(), entry.getTitle()));
                     }
@@ -544,6 +557,11 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                 // Due to a bug in the data type definition of this state variable, it is not set.
                 // As a workaround, we check the state variable named ContainerUpdateIDs.
                 case "ContainerUpdateIDs": // service ContentDirectoy
+                    // the value is a comma separated list of container ids and their update ids
+                    String[] containerUpdateIds = value.split(",");
+                    for (int i = 0; i < containerUpdateIds.length; i += 2) {
+                        invalidateBrowseCache(containerUpdateIds[i]);
+                    }
                     if (value.startsWith("R:0,") || stateDescriptionProvider
                             .getStateOptions(new ChannelUID(getThing().getUID(), RADIO)) == null) {
                         for (SonosEntry entry : getFavoriteRadios()) {
@@ -552,6 +570,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                         stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), RADIO), options);
                     }
                     break;
+                case "ShareListUpdateID": // service ContentDirectoy
+                    invalidateBrowseCache("A:");
+                    break;
                 default:
                     break;
             }
@@ -1273,21 +1294,49 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         return getEntries("FV:2", "dc:title,res,dc:creator,upnp:artist,upnp:album");
     }
 
+    /**
+     * Browses the entries of a container of the content directory, e.g. the queue or the saved playlists.
+     *
+     * The entries are fetched in pages of {@link #BROWSE_PAGE_SIZE} entries and cached together with the UpdateID
+     * of the container. As long as the UpdateID and the number of entries of the container do not change, the cached
+     * entries are returned instead of downloading and parsing all entries again.
+     *
+     * @param type - the id of the container
+     * @param filter - the properties of the entries to be returned
+     * @return the entries of the container
+     */
     protected List<SonosEntry> getEntries(String type, String filter) {
-        long startAt = 0;
+        String key = type + "|" + filter;
+        BrowseResult cached = browseCache.get(key);
 
         Map<String, String> inputs = new HashMap<String, String>();
         inputs.put("ObjectID", type);
         inputs.put("BrowseFlag", "BrowseDirectChildren");
         inputs.put("Filter", filter);
-        inputs.put("StartingIndex", Long.toString(startAt));
-        inputs.put("RequestedCount", Integer.toString(200));
+        inputs.put("StartingIndex", "0");
         inputs.put("SortCriteria", "");
 
+        Map<String, String> result;
+
+        if (cached != null) {
+            // a single entry is enough to check whether the container has changed since it has been cached
+            inputs.put("RequestedCount", "1");
+            result = service.invokeAction(this, "ContentDirectory", "Browse", inputs);
+            if (cached.updateId.equals(result.get("UpdateID"))
+                    && cached.totalMatches == getResultEntry(result, "TotalMatches", type, filter)) {
+                return new ArrayList<SonosEntry>(cached.entries);
+            }
+            browseCache.remove(key, cached);
+        }
+
+        long startAt = 0;
+        inputs.put("RequestedCount", Integer.toString(BROWSE_PAGE_SIZE));
+
         List<SonosEntry> resultList = null;
 
-        Map<String, String> result = service.invokeAction(this, "ContentDirectory", "Browse", inputs);
+        result = service.invokeAction(this, "ContentDirectory", "Browse", inputs);
 
+        String updateId = result.get("UpdateID");
         long totalMatches = getResultEntry(result, "TotalMatches", type, filter);
         long initialNumberReturned = getResultEntry(result, "NumberReturned", type, filter);
 
@@ -1303,15 +1352,37 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             // Execute this action synchronously
             String nextResult = result.get("Result");
             long numberReturned = getResultEntry(result, "NumberReturned", type, filter);
+            if (numberReturned == 0) {
+                // the container has shrunk or the action failed, the entries are incomplete
+                updateId = null;
+                break;
+            }
+            if (updateId != null && !updateId.equals(result.get("UpdateID"))) {
+                // the container has changed while its pages have been fetched
+                updateId = null;
+            }
 
             resultList.addAll(SonosXMLParser.getEntriesFromString(nextResult));
 
             startAt = startAt + numberReturned;
         }
 
+        if (updateId != null && !updateId.isEmpty()) {
+            browseCache.put(key, new BrowseResult(updateId, totalMatches, new ArrayList<SonosEntry>(resultList)));
+        }
+
         return resultList;
     }
 
+    /**
+     * Removes the cached entries of the containers with the given id prefix, e.g. after the container has changed
+     *
+     * @param containerId - the id (prefix) of the containers
+     */
+    private void invalidateBrowseCache(String containerId) {
+        browseCache.keySet().removeIf(key -> key.startsWith(containerId));
+    }
+
     protected long getNbEntries(String type) {
         Map<String, String> inputs = new HashMap<String, String>();
         inputs.put("ObjectID", type);
@@ -3002,4 +3073,20 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         int seconds = Integer.parseInt(units[2]);
         return 3600 * hours + 60 * minutes + seconds;
     }
+
+    /**
+     * The entries of a container of the content directory, together with the UpdateID of the container at the time
+     * the entries have been fetched
+     */
+    private static class BrowseResult {
+        private final String updateId;
+        private final long totalMatches;
+        private final List<SonosEntry> entries;
+
+        BrowseResult(String updateId, long totalMatches, List<SonosEntry> entries) {
+            this.updateId = updateId;
+            this.totalMatches = totalMatches;
+            this.entries = entries;
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class CoalescedPollTaskTest {
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private PollTask task(int slaveId, ModbusReadFunctionCode functionCode, int start, int length,
+            ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(slaveId, functionCode, start, length, 3), callback);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingReadsAreMerged() {
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 4, mock(ModbusReadCallback.class));
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 2, mock(ModbusReadCallback.class));
+        PollTask task3 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 3, mock(ModbusReadCallback.class));
+
+        List<PollTask> coalesced = CoalescedPollTask.coalesce(Arrays.asList(task3, task1, task2), task -> true);
+
+        assertThat(coalesced.size(), is(equalTo(1)));
+        assertThat(coalesced.get(0), is(instanceOf(CoalescedPollTask.class)));
+        ModbusReadRequestBlueprint request = coalesced.get(0).getRequest();
+        assertThat(request.getReference(), is(equalTo(0)));
+        assertThat(request.getDataLength(), is(equalTo(8)));
+        assertThat(request.getUnitID(), is(equalTo(1)));
+        assertThat(request.getFunctionCode(), is(equalTo(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS)));
+    }
+
+    @Test
+    public void testDistinctReadsAreNotMerged() {
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 4, mock(ModbusReadCallback.class));
+        // gap
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 2, mock(ModbusReadCallback.class));
+        // other function code
+        PollTask task3 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 4, 2, mock(ModbusReadCallback.class));
+        // other slave
+        PollTask task4 = task(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 1, mock(ModbusReadCallback.class));
+
+        List<PollTask> coalesced = CoalescedPollTask.coalesce(Arrays.asList(task1, task2, task3, task4),
+                task -> true);
+
+        assertThat(coalesced.size(), is(equalTo(4)));
+        assertThat(coalesced, hasItems(task1, task2, task3, task4));
+    }
+
+    @Test
+    public void testMergedReadsDoNotExceedProtocolLimit() {
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 100, mock(ModbusReadCallback.class));
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 100, 25,
+                mock(ModbusReadCallback.class));
+        PollTask task3 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 125, 1, mock(ModbusReadCallback.class));
+
+        List<PollTask> coalesced = CoalescedPollTask.coalesce(Arrays.asList(task1, task2, task3), task -> true);
+
+        assertThat(coalesced.size(), is(equalTo(2)));
+        assertThat(coalesced.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(coalesced.get(1), is(equalTo(task3)));
+    }
+
+    @Test
+    public void testRegistersAreSplitToCallbacks() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        ModbusReadCallback unregisteredCallback = mock(ModbusReadCallback.class);
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 11, 3, callback2);
+        PollTask unregistered = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 1, unregisteredCallback);
+
+        PollTask coalesced = CoalescedPollTask
+                .coalesce(Arrays.asList(task1, task2, unregistered), task -> task != unregistered).get(0);
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(1, 2, 3, 4));
+
+        ArgumentCaptor<ModbusRegisterArray> registers1 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback1).onRegisters(eq(task1.getRequest()), registers1.capture());
+        assertThat(registers1.getValue().size(), is(equalTo(2)));
+        assertThat(registers1.getValue().getRegister(0).getValue(), is(equalTo(1)));
+        assertThat(registers1.getValue().getRegister(1).getValue(), is(equalTo(2)));
+
+        ArgumentCaptor<ModbusRegisterArray> registers2 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback2).onRegisters(eq(task2.getRequest()), registers2.capture());
+        assertThat(registers2.getValue().size(), is(equalTo(3)));
+        assertThat(registers2.getValue().getRegister(0).getValue(), is(equalTo(2)));
+        assertThat(registers2.getValue().getRegister(2).getValue(), is(equalTo(4)));
+
+        verifyZeroInteractions(unregisteredCallback);
+    }
+
+    @Test
+    public void testBitsAndErrorsAreSplitToCallbacks() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_COILS, 0, 2, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_COILS, 2, 1, callback2);
+
+        PollTask coalesced = CoalescedPollTask.coalesce(Arrays.asList(task1, task2), task -> true).get(0);
+        coalesced.getCallback().onBits(coalesced.getRequest(), new BasicBitArray(true, false, true));
+
+        verify(callback1).onBits(eq(task1.getRequest()), eq(new BasicBitArray(true, false)));
+        verify(callback2).onBits(eq(task2.getRequest()), eq(new BasicBitArray(true)));
+
+        Exception error = new Exception();
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+        verify(callback1).onError(task1.getRequest(), error);
+        verify(callback2).onError(task2.getRequest(), error);
+        verify(callback1, never()).onRegisters(any(), any());
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.internal.LatencyHistogram;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getMax(), is(equalTo(0L)));
+        assertThat(histogram.getValueAtPercentile(50), is(equalTo(0L)));
+        assertThat(histogram.getMean(), is(equalTo(0.0)));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount(), is(equalTo(10L)));
+        assertThat(histogram.getMean(), is(equalTo(5.5)));
+        assertThat(histogram.getValueAtPercentile(50), is(equalTo(5L)));
+        assertThat(histogram.getValueAtPercentile(90), is(equalTo(9L)));
+        assertThat(histogram.getValueAtPercentile(100), is(equalTo(10L)));
+        assertThat(histogram.getMax(), is(equalTo(10L)));
+    }
+
+    @Test
+    public void testLargeValuesWithinRelativePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.record(100000);
+        long p50 = histogram.getValueAtPercentile(50);
+        assertThat(p50 >= 1000 && p50 <= 1125, is(true));
+        assertThat(histogram.getValueAtPercentile(100), is(equalTo(100000L)));
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.reset();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getValueAtPercentile(99), is(equalTo(0L)));
+    }
+}
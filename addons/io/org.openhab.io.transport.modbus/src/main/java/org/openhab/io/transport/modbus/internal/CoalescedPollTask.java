@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Poll task reading a single, larger block that covers the overlapping or adjacent reads of several poll tasks.
+ *
+ * The data received for the block is split back to the individual tasks, and their callbacks are called as if the
+ * tasks would have been executed one by one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask, ModbusReadCallback {
+
+    /**
+     * Maximum number of registers that can be read with single request, as defined by the Modbus specification
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs that can be read with single request, as defined by the Modbus
+     * specification
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusReadRequestBlueprint request;
+    private final List<PollTask> tasks;
+    private final Predicate<PollTask> isRegistered;
+
+    private CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request, List<PollTask> tasks,
+            Predicate<PollTask> isRegistered) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.tasks = tasks;
+        this.isRegistered = isRegistered;
+    }
+
+    /**
+     * Merge the reads of given poll tasks into as few reads as possible.
+     *
+     * Only tasks with same endpoint, slave id and function code are merged, and only if their ranges overlap or are
+     * adjacent. The merged reads never exceed the protocol limit of {@link #MAX_REGISTERS_PER_READ} registers, or
+     * {@link #MAX_BITS_PER_READ} bits.
+     *
+     * @param tasks poll tasks to merge
+     * @param isRegistered used to check whether a merged task is still registered when the data has been received.
+     *            Callbacks of unregistered tasks are not called.
+     * @return poll tasks to execute. Tasks that could not be merged with any other task are returned as is.
+     */
+    public static List<PollTask> coalesce(Collection<PollTask> tasks, Predicate<PollTask> isRegistered) {
+        Map<List<Object>, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            groups.computeIfAbsent(
+                    Arrays.asList(task.getEndpoint(), request.getUnitID(), request.getFunctionCode()),
+                    key -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> coalesced = new ArrayList<>();
+        for (List<PollTask> group : groups.values()) {
+            group.sort(Comparator.<PollTask> comparingInt(task -> task.getRequest().getReference())
+                    .thenComparing(Comparator.<PollTask> comparingInt(task -> task.getRequest().getDataLength())
+                            .reversed()));
+            int limit = maxDataLength(group.get(0).getRequest().getFunctionCode());
+
+            List<PollTask> block = new ArrayList<>();
+            int blockStart = 0;
+            int blockEnd = 0;
+            for (PollTask task : group) {
+                int start = task.getRequest().getReference();
+                int end = start + task.getRequest().getDataLength();
+                if (!block.isEmpty() && start <= blockEnd && Math.max(blockEnd, end) - blockStart <= limit) {
+                    block.add(task);
+                    blockEnd = Math.max(blockEnd, end);
+                    continue;
+                }
+                if (!block.isEmpty()) {
+                    coalesced.add(createTask(block, blockStart, blockEnd, isRegistered));
+                }
+                block = new ArrayList<>();
+                block.add(task);
+                blockStart = start;
+                blockEnd = end;
+            }
+            if (!block.isEmpty()) {
+                coalesced.add(createTask(block, blockStart, blockEnd, isRegistered));
+            }
+        }
+        return coalesced;
+    }
+
+    private static PollTask createTask(List<PollTask> block, int start, int end, Predicate<PollTask> isRegistered) {
+        PollTask first = block.get(0);
+        if (block.size() == 1) {
+            return first;
+        }
+        ModbusReadRequestBlueprint firstRequest = first.getRequest();
+        int maxTries = block.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().orElse(1);
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(firstRequest.getUnitID(),
+                firstRequest.getFunctionCode(), start, end - start, maxTries);
+        return new CoalescedPollTask(first.getEndpoint(), request, Collections.unmodifiableList(block), isRegistered);
+    }
+
+    private static int maxDataLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            default:
+                return MAX_REGISTERS_PER_READ;
+        }
+    }
+
+    /**
+     * Get the poll tasks merged into this task
+     *
+     * @return merged poll tasks
+     */
+    public List<PollTask> getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return this;
+    }
+
+    @Override
+    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback == null || !isRegistered.test(task)) {
+                continue;
+            }
+            ModbusReadRequestBlueprint taskRequest = task.getRequest();
+            int offset = taskRequest.getReference() - this.request.getReference();
+            int length = taskRequest.getDataLength();
+            if (offset + length > registers.size()) {
+                logger.warn("Response to coalesced read {} contains only {} registers, cannot provide data to {}",
+                        this.request, registers.size(), task);
+                continue;
+            }
+            ModbusRegister[] taskRegisters = new ModbusRegister[length];
+            for (int i = 0; i < length; i++) {
+                taskRegisters[i] = registers.getRegister(offset + i);
+            }
+            callback.onRegisters(taskRequest, new BasicModbusRegisterArray(taskRegisters));
+        }
+    }
+
+    @Override
+    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback == null || !isRegistered.test(task)) {
+                continue;
+            }
+            ModbusReadRequestBlueprint taskRequest = task.getRequest();
+            int offset = taskRequest.getReference() - this.request.getReference();
+            int length = taskRequest.getDataLength();
+            if (offset + length > bits.size()) {
+                logger.warn("Response to coalesced read {} contains only {} bits, cannot provide data to {}",
+                        this.request, bits.size(), task);
+                continue;
+            }
+            BasicBitArray taskBits = new BasicBitArray(length);
+            for (int i = 0; i < length; i++) {
+                taskBits.setBit(i, bits.getBit(offset + i));
+            }
+            callback.onBits(taskRequest, taskBits);
+        }
+    }
+
+    @Override
+    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback != null && isRegistered.test(task)) {
+                callback.onError(task.getRequest(), error);
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(request, endpoint, tasks);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        CoalescedPollTask rhs = (CoalescedPollTask) obj;
+        return request.equals(rhs.request) && endpoint.equals(rhs.endpoint) && tasks.equals(rhs.tasks);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("tasks", tasks.size()).toString();
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Metrics collected for the operations with a single endpoint
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class EndpointMetrics {
+
+    /**
+     * Time waiting for a connection from the pool, including the inter-transaction delay
+     */
+    final LatencyHistogram borrow = new LatencyHistogram();
+
+    /**
+     * Time for the transactions of an operation (read/write to slave), including retries
+     */
+    final LatencyHistogram transaction = new LatencyHistogram();
+
+    /**
+     * Time for calling the callback of an operation
+     */
+    final LatencyHistogram callback = new LatencyHistogram();
+
+    final LongAdder operations = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder connectionErrors = new LongAdder();
+
+    public LatencyHistogram getBorrowTime() {
+        return borrow;
+    }
+
+    public LatencyHistogram getTransactionTime() {
+        return transaction;
+    }
+
+    public LatencyHistogram getCallbackTime() {
+        return callback;
+    }
+
+    /**
+     * Get number of executed operations
+     */
+    public long getOperations() {
+        return operations.sum();
+    }
+
+    /**
+     * Get number of retried transactions
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * Get number of operations which failed after all retries
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Get number of failed attempts to get a connection
+     */
+    public long getConnectionErrors() {
+        return connectionErrors.sum();
+    }
+
+    /**
+     * Clear all collected metrics
+     */
+    public void reset() {
+        borrow.reset();
+        transaction.reset();
+        callback.reset();
+        operations.reset();
+        retries.reset();
+        errors.reset();
+        connectionErrors.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{operations=%d, retries=%d, errors=%d, connectionErrors=%d, borrow=%s, transaction=%s, callback=%s}",
+                getOperations(), getRetries(), getErrors(), getConnectionErrors(), borrow, transaction, callback);
+    }
+}
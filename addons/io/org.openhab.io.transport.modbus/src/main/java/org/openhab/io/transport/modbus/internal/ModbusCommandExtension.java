@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for inspecting the metrics collected by the {@link ModbusManagerImpl}
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+@NonNullByDefault
+public class ModbusCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+    private static final String SUBCMD_RESET = "reset";
+
+    private @Nullable ModbusManager manager;
+
+    public ModbusCommandExtension() {
+        super("modbus", "Inspect the Modbus transport.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        ModbusManager manager = this.manager;
+        if (!(manager instanceof ModbusManagerImpl)) {
+            console.println("Modbus manager is not available");
+            return;
+        }
+        ModbusManagerImpl managerImpl = (ModbusManagerImpl) manager;
+        if (args.length == 0) {
+            printUsage(console);
+            return;
+        }
+        switch (args[0]) {
+            case SUBCMD_METRICS:
+                printMetrics(managerImpl, console);
+                break;
+            case SUBCMD_RESET:
+                managerImpl.getEndpointMetrics().values().forEach(EndpointMetrics::reset);
+                console.println("Metrics of all endpoints cleared");
+                break;
+            default:
+                console.println("Unknown command '" + args[0] + "'");
+                printUsage(console);
+                break;
+        }
+    }
+
+    private void printMetrics(ModbusManagerImpl manager, Console console) {
+        console.println(String.format("Poller thread pool: %d active threads, %d queued tasks",
+                manager.getActiveThreads(), manager.getQueuedTasks()));
+        Map<ModbusSlaveEndpoint, EndpointMetrics> metrics = manager.getEndpointMetrics();
+        if (metrics.isEmpty()) {
+            console.println("No operations executed yet");
+            return;
+        }
+        metrics.forEach((endpoint, endpointMetrics) -> {
+            console.println(endpoint.toString());
+            console.println(String.format("  connections: %d active, %d idle", manager.getNumActiveConnections(endpoint),
+                    manager.getNumIdleConnections(endpoint)));
+            console.println(String.format("  operations: %d, retries: %d, errors: %d, connection errors: %d",
+                    endpointMetrics.getOperations(), endpointMetrics.getRetries(), endpointMetrics.getErrors(),
+                    endpointMetrics.getConnectionErrors()));
+            console.println("  borrow wait (ms): " + endpointMetrics.getBorrowTime());
+            console.println("  transaction (ms): " + endpointMetrics.getTransactionTime());
+            console.println("  callback (ms):    " + endpointMetrics.getCallbackTime());
+        });
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(buildCommandUsage(SUBCMD_METRICS,
+                "lists connection, latency and error metrics of all endpoints and the poller thread pool"),
+                buildCommandUsage(SUBCMD_RESET, "clears the metrics of all endpoints"));
+    }
+
+    @Reference
+    protected void setModbusManager(ModbusManager manager) {
+        this.manager = manager;
+    }
+
+    protected void unsetModbusManager(ModbusManager manager) {
+        this.manager = null;
+    }
+}
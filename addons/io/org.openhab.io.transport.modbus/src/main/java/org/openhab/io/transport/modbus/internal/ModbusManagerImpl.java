@@ -14,6 +14,9 @@ package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -28,6 +31,8 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import javax.imageio.IIOException;
 
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.SwallowedExceptionListener;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
@@ -40,6 +45,7 @@ import org.openhab.io.transport.modbus.ModbusConnectionException;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
@@ -91,6 +97,58 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Key identifying regular polls that can be coalesced: polls with same endpoint, slave id, function code and poll
+     * period
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class PollGroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+        private final long pollPeriodMillis;
+
+        public PollGroupKey(PollTask task, long pollPeriodMillis) {
+            this.endpoint = task.getEndpoint();
+            this.unitId = task.getRequest().getUnitID();
+            this.functionCode = task.getRequest().getFunctionCode();
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(17, 37).append(endpoint).append(unitId).append(functionCode)
+                    .append(pollPeriodMillis).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            PollGroupKey rhs = (PollGroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(unitId, rhs.unitId)
+                    .append(functionCode, rhs.functionCode).append(pollPeriodMillis, rhs.pollPeriodMillis).isEquals();
+        }
+    }
+
+    /**
+     * Regular polls that are executed together, with coalesced requests
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class PollGroup {
+        private final Set<PollTask> tasks = new CopyOnWriteArraySet<>();
+        @Nullable
+        private ScheduledFuture<?> future;
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -247,6 +305,10 @@ public class ModbusManagerImpl implements ModbusManager {
      * Presumably slow callbacks can increase queue size with callbackThreadPool
      */
     private static final long WARN_QUEUE_SIZE = 500;
+    /**
+     * Configuration parameter for enabling coalescing of regular polls
+     */
+    private static final String CONFIG_COALESCE_POLLS = "coalescePolls";
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
     private final PollOperation pollOperation = new PollOperation();
@@ -268,6 +330,18 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Groups of regular polls executed together, used only when polls are coalesced
+     */
+    private final Map<PollGroupKey, PollGroup> pollGroups = new ConcurrentHashMap<>();
+    /**
+     * Metrics of the operations, per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
+    /**
+     * Whether regular polls of same slave and poll period are coalesced to fewer, larger reads
+     */
+    private volatile boolean coalescePolls;
     /**
      * Executor for requests
      */
@@ -419,14 +493,19 @@ public class ModbusManagerImpl implements ModbusManager {
 
         ModbusRequestBlueprint request = task.getRequest();
         Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        long borrowMillis = System.currentTimeMillis() - connectionBorrowStart;
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
-                System.currentTimeMillis() - connectionBorrowStart, operationId);
+                borrowMillis, operationId);
         if (scheduledThreadPoolExecutor == null) {
             // manager deactivated
             timer.connection.timeRunnable(() -> invalidate(endpoint, connection));
             return Optional.empty();
         }
+        EndpointMetrics metrics = getMetrics(endpoint);
+        metrics.borrow.record(borrowMillis);
         if (!connection.isPresent()) {
+            metrics.connectionErrors.increment();
+            metrics.errors.increment();
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
             if (callback != null) {
@@ -516,6 +595,9 @@ public class ModbusManagerImpl implements ModbusManager {
             throw new IllegalArgumentException("maxTries should be positive");
         }
 
+        EndpointMetrics metrics = getMetrics(endpoint);
+        metrics.operations.increment();
+        int tryIndex = 0;
         Optional<ModbusSlaveConnection> connection = Optional.empty();
         try {
             logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
@@ -536,7 +618,6 @@ public class ModbusManagerImpl implements ModbusManager {
                 return;
             }
 
-            int tryIndex = 0;
             /**
              * last execution is tracked such that the endpoint is not spammed on retry. First retry can be executed
              * right away since getConnection ensures enough time has passed since last transaction. More precisely,
@@ -572,6 +653,9 @@ public class ModbusManagerImpl implements ModbusManager {
                 try {
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
+                    if (tryIndex > 1) {
+                        metrics.retries.increment();
+                    }
                     operation.accept(timer, task, connection.get());
                     lastError.set(null);
                     break;
@@ -666,6 +750,7 @@ public class ModbusManagerImpl implements ModbusManager {
             Exception exception = lastError.get();
             if (exception != null) {
                 // All retries failed with some error
+                metrics.errors.increment();
                 if (callback != null) {
                     timer.callback.timeRunnable(() -> {
                         invokeCallbackWithError(request, callback, exception);
@@ -686,10 +771,78 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            if (tryIndex > 0) {
+                metrics.transaction.record(timer.transaction.getTotalTimeMillis());
+                if (callback != null) {
+                    metrics.callback.record(timer.callback.getTotalTimeMillis());
+                }
+            }
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
 
+    private EndpointMetrics getMetrics(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, e -> new EndpointMetrics());
+    }
+
+    /**
+     * Get metrics collected for the endpoints that have been communicated with
+     *
+     * @return metrics per endpoint
+     */
+    public Map<ModbusSlaveEndpoint, EndpointMetrics> getEndpointMetrics() {
+        return Collections.unmodifiableMap(endpointMetrics);
+    }
+
+    /**
+     * Get number of connections currently borrowed from the connection pool for the endpoint
+     *
+     * @param endpoint endpoint to query
+     * @return number of active connections, or -1 if the manager is not activated
+     */
+    public int getNumActiveConnections(ModbusSlaveEndpoint endpoint) {
+        KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
+        return pool == null ? -1 : pool.getNumActive(endpoint);
+    }
+
+    /**
+     * Get number of idle connections in the connection pool for the endpoint
+     *
+     * @param endpoint endpoint to query
+     * @return number of idle connections, or -1 if the manager is not activated
+     */
+    public int getNumIdleConnections(ModbusSlaveEndpoint endpoint) {
+        KeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> pool = connectionPool;
+        return pool == null ? -1 : pool.getNumIdle(endpoint);
+    }
+
+    /**
+     * Get number of tasks queued in the poller thread pool, waiting for execution. Note that the callbacks are called
+     * in the same threads, thus this includes the callback backlog as well.
+     *
+     * @return number of queued tasks, or -1 if not available
+     */
+    public int getQueuedTasks() {
+        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        return -1;
+    }
+
+    /**
+     * Get number of threads of the poller thread pool currently executing tasks
+     *
+     * @return number of active threads, or -1 if not available
+     */
+    public int getActiveThreads() {
+        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getActiveCount();
+        }
+        return -1;
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
         ScheduledExecutorService executor = scheduledThreadPoolExecutor;
@@ -716,6 +869,10 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
+            if (coalescePolls) {
+                registerCoalescedPoll(executor, task, pollPeriodMillis, initialDelayMillis);
+                return;
+            }
             ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
                 long started = System.currentTimeMillis();
                 logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
@@ -733,6 +890,57 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Register regular poll which is executed together with the other polls of same slave and poll period. The reads of
+     * the polls in the group are coalesced to fewer, larger reads on every execution.
+     */
+    private void registerCoalescedPoll(ScheduledExecutorService executor, PollTask task, long pollPeriodMillis,
+            long initialDelayMillis) {
+        PollGroupKey key = new PollGroupKey(task, pollPeriodMillis);
+        PollGroup group = pollGroups.computeIfAbsent(key, k -> new PollGroup());
+        group.tasks.add(task);
+        ScheduledFuture<?> future = group.future;
+        if (future == null) {
+            group.future = future = executor.scheduleWithFixedDelay(() -> {
+                long started = System.currentTimeMillis();
+                List<PollTask> tasks = CoalescedPollTask.coalesce(group.tasks, scheduledPollTasks::containsKey);
+                logger.debug(
+                        "Executing scheduled ({}ms) poll group of {} poll tasks using {} requests. Current millis: {}",
+                        pollPeriodMillis, group.tasks.size(), tasks.size(), started);
+                for (PollTask coalescedTask : tasks) {
+                    // Coalesced tasks are not registered as such, the callbacks check the registration of the tasks
+                    executeOperation(coalescedTask, coalescedTask instanceof CoalescedPollTask, pollOperation);
+                }
+                long finished = System.currentTimeMillis();
+                logger.debug(
+                        "Execution of scheduled ({}ms) poll group finished at {}. Was started at millis: {} (=duration of {} millis)",
+                        pollPeriodMillis, finished, started, finished - started);
+            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+        }
+        scheduledPollTasks.put(task, future);
+        logger.trace("Registered coalesced poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
+                initialDelayMillis);
+    }
+
+    /**
+     * Remove the poll task from its poll group
+     *
+     * @return whether the poll group is still used by other poll tasks
+     */
+    private boolean removeFromPollGroup(PollTask task) {
+        for (Iterator<PollGroup> iterator = pollGroups.values().iterator(); iterator.hasNext();) {
+            PollGroup group = iterator.next();
+            if (group.tasks.remove(task)) {
+                if (group.tasks.isEmpty()) {
+                    iterator.remove();
+                    return false;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -756,9 +964,12 @@ public class ModbusManagerImpl implements ModbusManager {
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
-
-            logger.info("Poll task {} canceled", task);
+            if (removeFromPollGroup(task)) {
+                logger.info("Poll task {} removed from poll group, other tasks of the group are still polled", task);
+            } else {
+                future.cancel(true);
+                logger.info("Poll task {} canceled", task);
+            }
 
             try {
                 // Close all idle connections as well (they will be reconnected if necessary on borrow)
@@ -825,6 +1036,8 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            coalescePolls = Boolean.parseBoolean(String.valueOf(configProperties.get(CONFIG_COALESCE_POLLS)));
+            logger.debug("Coalescing of regular polls is {}", coalescePolls ? "enabled" : "disabled");
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Date;
+
+import org.eclipse.smarthome.core.library.types.DateTimeType;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.PointType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Test;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbItemCodec;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbItemCodecTest {
+
+    @Test
+    public void encodeDecodeRoundtripShouldRecreateTheEncodedState() {
+        assertThat(roundtrip(OnOffType.ON), is(equalTo(OnOffType.ON)));
+        assertThat(roundtrip(OpenClosedType.CLOSED), is(equalTo(OpenClosedType.CLOSED)));
+        assertThat(roundtrip(UpDownType.DOWN), is(equalTo(UpDownType.DOWN)));
+        assertThat(roundtrip(new DecimalType("-1234.5678")), is(equalTo(new DecimalType("-1234.5678"))));
+        assertThat(roundtrip(PercentType.HUNDRED), is(equalTo(PercentType.HUNDRED)));
+        assertThat(roundtrip(HSBType.GREEN), is(equalTo(HSBType.GREEN)));
+        assertThat(roundtrip(StringType.valueOf("test äöü")), is(equalTo(StringType.valueOf("test äöü"))));
+        assertThat(roundtrip(new PointType("52.5200066,13.4049540")),
+                is(equalTo(new PointType("52.5200066,13.4049540"))));
+    }
+
+    @Test
+    public void encodeDecodeRoundtripShouldKeepTheTypeOfTheState() {
+        assertThat(roundtrip(new DateTimeType("2019-01-01T10:00:00.000+0100")), is(instanceOf(DateTimeType.class)));
+        assertThat(roundtrip(new PercentType(50)), is(instanceOf(PercentType.class)));
+    }
+
+    @Test
+    public void decodeShouldUseTheGivenNameAndEncodedTimestamp() {
+        MapDbItem item = new MapDbItem();
+        item.setName("ignored");
+        item.setState(OnOffType.OFF);
+        item.setTimestamp(new Date(1234567890L));
+
+        MapDbItem decoded = MapDbItemCodec.decode("name", MapDbItemCodec.encode(item));
+
+        assertThat(decoded.getName(), is("name"));
+        assertThat(decoded.getTimestamp(), is(new Date(1234567890L)));
+        assertThat(decoded.getState(), is(equalTo(OnOffType.OFF)));
+    }
+
+    @Test
+    public void decodeShouldReturnNullForInvalidValues() {
+        assertThat(MapDbItemCodec.decode("name", new byte[0]), is(nullValue()));
+        assertThat(MapDbItemCodec.decode("name", new byte[] { 42 }), is(nullValue()));
+    }
+
+    private State roundtrip(State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(state);
+        item.setTimestamp(new Date());
+        return MapDbItemCodec.decode("item", MapDbItemCodec.encode(item)).getState();
+    }
+}
@@ -23,6 +23,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.items.ColorItem;
@@ -32,9 +36,13 @@ import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.test.java.JavaOSGiTest;
+import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,11 +55,43 @@ import org.openhab.persistence.mapdb.internal.MapDbPersistenceService;
 public class MapDbPersistenceServiceOSGiTest extends JavaOSGiTest {
     private MapDbPersistenceService persistenceService;
 
+    private boolean historyEnabled;
+
     @Before
     public void setUp() {
         persistenceService = getService(QueryablePersistenceService.class, MapDbPersistenceService.class);
     }
 
+    @After
+    public void disableHistory() {
+        if (historyEnabled) {
+            persistenceService.deactivate();
+            persistenceService.activate(null);
+            historyEnabled = false;
+        }
+    }
+
+    private void enableHistory() {
+        persistenceService.deactivate();
+        persistenceService.activate(Collections.<String, Object>singletonMap("history", "true"));
+        historyEnabled = true;
+    }
+
+    private void storeStates(GenericItem item, State... states) {
+        for (State state : states) {
+            item.setState(state);
+            persistenceService.store(item);
+        }
+    }
+
+    private List<State> queryStates(FilterCriteria filter) {
+        List<State> states = new ArrayList<>();
+        for (HistoricItem item : persistenceService.query(filter)) {
+            states.add(item.getState());
+        }
+        return states;
+    }
+
     @AfterClass
     public static void tearDown() throws IOException {
         // clean up database files ...
@@ -89,6 +129,26 @@ public class MapDbPersistenceServiceOSGiTest extends JavaOSGiTest {
                 hasItems(hasProperty("name", equalTo(name)), hasProperty("name", equalTo(alias))));
     }
 
+    @Test
+    public void getItemInfoShouldReflectTheLatestStore() {
+        String name = "switchInfo";
+
+        GenericItem item = new SwitchItem(name);
+        item.setState(OnOffType.ON);
+        persistenceService.store(item);
+
+        assertThat(persistenceService.getItemInfo(),
+                hasItem(allOf(hasProperty("name", equalTo(name)), hasProperty("state", equalTo(OnOffType.ON)))));
+
+        item.setState(OnOffType.OFF);
+        persistenceService.store(item);
+
+        assertThat(persistenceService.getItemInfo(),
+                hasItem(allOf(hasProperty("name", equalTo(name)), hasProperty("state", equalTo(OnOffType.OFF)))));
+        assertThat(persistenceService.getItemInfo(),
+                not(hasItem(allOf(hasProperty("name", equalTo(name)), hasProperty("state", equalTo(OnOffType.ON))))));
+    }
+
     @Test
     public void queryShouldFindStoredItemsByName() {
         String name = "dimmer";
@@ -132,4 +192,83 @@ public class MapDbPersistenceServiceOSGiTest extends JavaOSGiTest {
         assertThat(persistenceService.query(filterByAlias),
                 contains(allOf(hasProperty("name", equalTo(alias)), hasProperty("state", equalTo(state)))));
     }
+
+    @Test
+    public void historyShouldKeepAllStatesInOrder() {
+        enableHistory();
+        String name = "historyOrder";
+        GenericItem item = new DimmerItem(name);
+
+        // stored in a tight loop, so several of the states share a timestamp
+        storeStates(item, new PercentType(10), new PercentType(20), new PercentType(30));
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(name);
+        filter.setOrdering(Ordering.ASCENDING);
+
+        assertThat(queryStates(filter),
+                is(Arrays.<State>asList(new PercentType(10), new PercentType(20), new PercentType(30))));
+
+        filter.setOrdering(Ordering.DESCENDING);
+
+        assertThat(queryStates(filter),
+                is(Arrays.<State>asList(new PercentType(30), new PercentType(20), new PercentType(10))));
+    }
+
+    @Test
+    public void historyShouldReturnTheRequestedPage() {
+        enableHistory();
+        String name = "historyPaging";
+        GenericItem item = new DimmerItem(name);
+
+        storeStates(item, new PercentType(10), new PercentType(20), new PercentType(30));
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(name);
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setPageSize(2);
+
+        assertThat(queryStates(filter), is(Arrays.<State>asList(new PercentType(10), new PercentType(20))));
+
+        filter.setPageNumber(1);
+
+        assertThat(queryStates(filter), is(Arrays.<State>asList(new PercentType(30))));
+
+        filter.setPageNumber(2);
+
+        assertThat(queryStates(filter), is(Collections.<State>emptyList()));
+    }
+
+    @Test
+    public void historyShouldFilterByStateBeforePaging() {
+        enableHistory();
+        String name = "historyStateFilter";
+        GenericItem item = new DimmerItem(name);
+
+        storeStates(item, new PercentType(10), new PercentType(20), new PercentType(30), new PercentType(40));
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(name);
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setState(new PercentType(15));
+        filter.setOperator(Operator.GT);
+        filter.setPageSize(2);
+
+        assertThat(queryStates(filter), is(Arrays.<State>asList(new PercentType(20), new PercentType(30))));
+
+        filter.setPageNumber(1);
+
+        assertThat(queryStates(filter), is(Arrays.<State>asList(new PercentType(40))));
+
+        filter.setPageSize(Integer.MAX_VALUE);
+        filter.setPageNumber(0);
+        filter.setState(new PercentType(20));
+        filter.setOperator(Operator.EQ);
+
+        assertThat(queryStates(filter), is(Arrays.<State>asList(new PercentType(20))));
+
+        filter.setOperator(Operator.LTE);
+
+        assertThat(queryStates(filter), is(Arrays.<State>asList(new PercentType(10), new PercentType(20))));
+    }
 }
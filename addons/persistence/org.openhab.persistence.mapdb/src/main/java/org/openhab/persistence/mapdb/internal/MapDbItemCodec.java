@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact binary codec for {@link MapDbItem}s. The item name is not part of the encoded value as it is already used
+ * as key in the MapDB store.
+ *
+ * The most common state types are written with a one byte type tag followed by their raw value, all other states are
+ * written as class name and full string like the {@link StateTypeAdapter} does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_GENERIC = 0;
+    private static final byte TYPE_ON = 1;
+    private static final byte TYPE_OFF = 2;
+    private static final byte TYPE_OPEN = 3;
+    private static final byte TYPE_CLOSED = 4;
+    private static final byte TYPE_UP = 5;
+    private static final byte TYPE_DOWN = 6;
+    private static final byte TYPE_DECIMAL = 7;
+    private static final byte TYPE_PERCENT = 8;
+    private static final byte TYPE_HSB = 9;
+    private static final byte TYPE_STRING = 10;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapDbItemCodec.class);
+
+    private MapDbItemCodec() {
+        // only static helpers
+    }
+
+    /**
+     * Encodes timestamp and state of the given item.
+     *
+     * @param item the item to encode
+     * @return the encoded value
+     */
+    public static byte[] encode(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(item.getTimestamp().getTime());
+            writeState(out, item.getState());
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a value written by {@link #encode(MapDbItem)}.
+     *
+     * @param name the name of the item, i.e. the key the value has been stored with
+     * @param value the encoded value
+     * @return the decoded item or <code>null</code> if the value could not be decoded
+     */
+    public static @Nullable MapDbItem decode(String name, byte[] value) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                LOGGER.warn("Unsupported format version {} of stored state for '{}'", version, name);
+                return null;
+            }
+            long timestamp = in.readLong();
+            State state = readState(in);
+            if (state == null) {
+                return null;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setTimestamp(new Date(timestamp));
+            item.setState(state);
+            return item;
+        } catch (IOException e) {
+            LOGGER.warn("Couldn't decode stored state for '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeState(DataOutputStream out, State state) throws IOException {
+        if (state == OnOffType.ON) {
+            out.writeByte(TYPE_ON);
+        } else if (state == OnOffType.OFF) {
+            out.writeByte(TYPE_OFF);
+        } else if (state == OpenClosedType.OPEN) {
+            out.writeByte(TYPE_OPEN);
+        } else if (state == OpenClosedType.CLOSED) {
+            out.writeByte(TYPE_CLOSED);
+        } else if (state == UpDownType.UP) {
+            out.writeByte(TYPE_UP);
+        } else if (state == UpDownType.DOWN) {
+            out.writeByte(TYPE_DOWN);
+        } else if (state.getClass() == HSBType.class) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TYPE_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state.getClass() == PercentType.class) {
+            out.writeByte(TYPE_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (state.getClass() == DecimalType.class) {
+            out.writeByte(TYPE_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (state.getClass() == StringType.class) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TYPE_GENERIC);
+            writeString(out, state.getClass().getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private static @Nullable State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_ON:
+                return OnOffType.ON;
+            case TYPE_OFF:
+                return OnOffType.OFF;
+            case TYPE_OPEN:
+                return OpenClosedType.OPEN;
+            case TYPE_CLOSED:
+                return OpenClosedType.CLOSED;
+            case TYPE_UP:
+                return UpDownType.UP;
+            case TYPE_DOWN:
+                return UpDownType.DOWN;
+            case TYPE_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TYPE_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_GENERIC:
+                return readGenericState(readString(in), readString(in));
+            default:
+                LOGGER.warn("Unknown type tag {} of stored state", type);
+                return null;
+        }
+    }
+
+    private static @Nullable State readGenericState(String valueTypeName, String valueAsString) {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> valueType = (Class<? extends State>) Class.forName(valueTypeName);
+            List<Class<? extends State>> types = Collections.singletonList(valueType);
+            return TypeParser.parseState(types, valueAsString);
+        } catch (Exception e) {
+            LOGGER.warn("Couldn't deserialize state '{}' of type '{}': {}", valueAsString, valueTypeName,
+                    e.getMessage());
+        }
+        return null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
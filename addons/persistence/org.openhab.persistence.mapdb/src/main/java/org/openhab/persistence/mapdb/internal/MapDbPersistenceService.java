@@ -15,11 +15,18 @@ package org.openhab.persistence.mapdb.internal;
 import java.io.File;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -29,6 +36,8 @@ import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceItemInfo;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
@@ -37,6 +46,9 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Fun;
+import org.mapdb.Fun.Tuple3;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,7 +65,8 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to Eclipse SmartHome
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb")
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_NAME = "mapdb";
@@ -62,25 +75,71 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    private static final String STORE_NAME = "itemStates";
+
+    private static final String HISTORY_STORE_NAME = "itemStateHistory";
+
+    /** the JSON valued store used by earlier versions, migrated to the binary store on activation */
+    private static final String LEGACY_STORE_NAME = "itemStore";
+
+    private static final String CONFIG_HISTORY = "history";
+
+    private static final String CONFIG_COMMIT_INTERVAL = "commitinterval";
+
+    private static final long DEFAULT_COMMIT_INTERVAL = 0;
+
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     @NonNullByDefault({})
-    private ExecutorService threadPool;
+    private ScheduledExecutorService threadPool;
 
     /** holds the local instance of the MapDB database */
     @NonNullByDefault({})
     private DB db;
     @NonNullByDefault({})
-    private Map<String, String> map;
+    private Map<String, byte[]> map;
+
+    /**
+     * holds the history of all stored states if the history mode is enabled, keyed by item, timestamp and a sequence
+     * number that keeps states stored within the same millisecond apart
+     */
+    private @Nullable NavigableMap<Tuple3<String, Long, Integer>, byte[]> history;
+
+    /** the time in seconds all writes are collected before they are committed together, 0 commits every write */
+    private long commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+    private final AtomicBoolean commitPending = new AtomicBoolean();
+
+    /** index of the item infos by name, kept up to date on every store so the stored values need not be decoded */
+    private final Map<String, PersistenceItemInfo> itemInfo = new ConcurrentHashMap<>();
+
+    /** the set returned by {@link #getItemInfo()}, rebuilt lazily after an item has been stored */
+    private volatile @Nullable Set<PersistenceItemInfo> itemInfoSet;
 
     private transient Gson mapper = new GsonBuilder()
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
-    public void activate() {
+    @Activate
+    public void activate(@Nullable Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
-        threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+        boolean historyEnabled = false;
+        commitInterval = DEFAULT_COMMIT_INTERVAL;
+        if (config != null) {
+            historyEnabled = Boolean.parseBoolean(String.valueOf(config.get(CONFIG_HISTORY)));
+            Object interval = config.get(CONFIG_COMMIT_INTERVAL);
+            if (interval != null) {
+                try {
+                    commitInterval = Math.max(0, Long.parseLong(interval.toString().trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid commit interval '{}', using default of {} seconds", interval,
+                            DEFAULT_COMMIT_INTERVAL);
+                }
+            }
+        }
+
+        threadPool = ThreadPoolManager.getScheduledPool(getClass().getSimpleName());
 
         File folder = new File(DB_FOLDER_NAME);
         if (!folder.exists()) {
@@ -93,15 +152,26 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
         File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-        map = db.createTreeMap("itemStore").makeOrGet();
-        logger.debug("MapDB persistence service is now activated");
+        map = db.createTreeMap(STORE_NAME).makeOrGet();
+        migrateLegacyStore();
+        initItemInfo();
+        if (historyEnabled) {
+            history = db.createTreeMap(HISTORY_STORE_NAME).makeOrGet();
+        }
+        logger.debug("MapDB persistence service is now activated (history mode {}, commit interval {}s)",
+                historyEnabled ? "on" : "off", commitInterval);
     }
 
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            // flush the writes of a pending group commit before closing
+            if (commitPending.getAndSet(false)) {
+                db.commit();
+            }
             db.close();
         }
+        history = null;
         threadPool.shutdown();
     }
 
@@ -117,10 +187,17 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream()
-                .map(this::deserialize)
-                .flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo>toSet());
+        Set<PersistenceItemInfo> localItemInfoSet = itemInfoSet;
+        if (localItemInfoSet == null) {
+            synchronized (itemInfo) {
+                localItemInfoSet = itemInfoSet;
+                if (localItemInfoSet == null) {
+                    localItemInfoSet = Collections.unmodifiableSet(new HashSet<>(itemInfo.values()));
+                    itemInfoSet = localItemInfoSet;
+                }
+            }
+        }
+        return localItemInfoSet;
     }
 
     @Override
@@ -145,27 +222,154 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(alias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(alias, json);
+        byte[] value = MapDbItemCodec.encode(mItem);
+        map.put(alias, value);
+        synchronized (itemInfo) {
+            itemInfo.put(alias, mItem);
+            itemInfoSet = null;
+        }
+        NavigableMap<Tuple3<String, Long, Integer>, byte[]> localHistory = history;
+        if (localHistory != null) {
+            long timestamp = mItem.getTimestamp().getTime();
+            int sequence = 0;
+            while (localHistory.putIfAbsent(Fun.t3(alias, timestamp, sequence), value) != null) {
+                sequence++;
+            }
+        }
         commit();
         logger.debug("Stored '{}' with state '{}' in MapDB database", alias, state.toString());
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        NavigableMap<Tuple3<String, Long, Integer>, byte[]> localHistory = history;
+        String name = filter.getItemName();
+        if (localHistory != null && name != null && hasHistory(localHistory, name)) {
+            return queryHistory(localHistory, name, filter);
+        }
+        // history mode is off or nothing has been recorded since it was enabled, fall back to the latest state
+        return queryLatest(filter);
+    }
+
+    private Iterable<HistoricItem> queryLatest(FilterCriteria filter) {
+        String name = filter.getItemName();
+        byte[] value = name == null ? null : map.get(name);
+        if (name == null || value == null) {
             return Collections.emptyList();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = decode(name, value);
         if (!item.isPresent()) {
             return Collections.emptyList();
         }
         return Collections.singletonList(item.get());
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    /**
+     * Queries the history tree. All entries of an item are stored next to each other ordered by their timestamp, so
+     * the requested time range can be read as a sub map of the tree without touching other items. A state filter is
+     * applied before the requested page is cut out.
+     */
+    private List<HistoricItem> queryHistory(NavigableMap<Tuple3<String, Long, Integer>, byte[]> history, String name,
+            FilterCriteria filter) {
+        Date begin = filter.getBeginDate();
+        Date end = filter.getEndDate();
+        long from = begin == null ? Long.MIN_VALUE : begin.getTime();
+        long to = end == null ? Long.MAX_VALUE : end.getTime();
+        if (from > to) {
+            return Collections.emptyList();
+        }
+
+        NavigableMap<Tuple3<String, Long, Integer>, byte[]> range = history.subMap(
+                Fun.t3(name, from, Integer.MIN_VALUE), true, Fun.t3(name, to, Integer.MAX_VALUE), true);
+        if (filter.getOrdering() == Ordering.DESCENDING) {
+            range = range.descendingMap();
+        }
+
+        State state = filter.getState();
+        Operator operator = filter.getOperator();
+        long pageSize = filter.getPageSize();
+        return range.values().stream()
+                .map(value -> decode(name, value))
+                .flatMap(MapDbPersistenceService::streamOptional)
+                .filter(item -> state == null || matches(item.getState(), operator, state))
+                .skip(filter.getPageNumber() * pageSize)
+                .limit(pageSize)
+                .collect(Collectors.<HistoricItem>toList());
+    }
+
+    /**
+     * Checks a stored state against the state of a filter. Equality works for all states, the ordering operators
+     * only for numeric states.
+     */
+    private static boolean matches(State stored, Operator operator, State filterState) {
+        switch (operator) {
+            case EQ:
+                return stored.equals(filterState);
+            case NEQ:
+                return !stored.equals(filterState);
+            default:
+                break;
+        }
+        if (!(stored instanceof Number) || !(filterState instanceof Number)) {
+            return false;
+        }
+        int comparison = Double.compare(((Number) stored).doubleValue(), ((Number) filterState).doubleValue());
+        switch (operator) {
+            case GT:
+                return comparison > 0;
+            case GTE:
+                return comparison >= 0;
+            case LT:
+                return comparison < 0;
+            case LTE:
+                return comparison <= 0;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean hasHistory(NavigableMap<Tuple3<String, Long, Integer>, byte[]> history, String name) {
+        return !history.subMap(Fun.t3(name, Long.MIN_VALUE, Integer.MIN_VALUE), true,
+                Fun.t3(name, Long.MAX_VALUE, Integer.MAX_VALUE), true).isEmpty();
+    }
+
+    private void initItemInfo() {
+        itemInfo.clear();
+        for (Entry<String, byte[]> entry : map.entrySet()) {
+            Optional<MapDbItem> item = decode(entry.getKey(), entry.getValue());
+            if (item.isPresent()) {
+                itemInfo.put(entry.getKey(), item.get());
+            }
+        }
+        itemInfoSet = null;
+    }
+
+    /**
+     * Converts the JSON values of the store used by earlier versions to the binary format and removes the old store.
+     */
+    private void migrateLegacyStore() {
+        if (!db.exists(LEGACY_STORE_NAME)) {
+            return;
+        }
+        Map<String, String> legacy = db.getTreeMap(LEGACY_STORE_NAME);
+        logger.info("Migrating {} stored item states to the binary format", legacy.size());
+        for (Entry<String, String> entry : legacy.entrySet()) {
+            Optional<MapDbItem> item = deserialize(entry.getValue());
+            if (item.isPresent() && !map.containsKey(entry.getKey())) {
+                map.put(entry.getKey(), MapDbItemCodec.encode(item.get()));
+            }
+        }
+        db.delete(LEGACY_STORE_NAME);
+        db.commit();
+    }
+
+    private Optional<MapDbItem> decode(String name, byte[] value) {
+        MapDbItem item = MapDbItemCodec.decode(name, value);
+        if (item == null || !item.isValid()) {
+            logger.warn("Decoded invalid item: {}", item);
+            return Optional.empty();
+        }
+        return Optional.of(item);
     }
 
     private Optional<MapDbItem> deserialize(String json) {
@@ -177,8 +381,20 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
+    /**
+     * Commits the database. Unless the commit interval is 0, all writes within the interval are merged into a single
+     * commit.
+     */
     private void commit() {
-        threadPool.submit(() -> db.commit());
+        if (commitInterval == 0) {
+            threadPool.submit(() -> db.commit());
+        } else if (commitPending.compareAndSet(false, true)) {
+            threadPool.schedule(() -> {
+                if (commitPending.getAndSet(false)) {
+                    db.commit();
+                }
+            }, commitInterval, TimeUnit.SECONDS);
+        }
     }
 
     private static <T> Stream<T> streamOptional(Optional<T> opt) {
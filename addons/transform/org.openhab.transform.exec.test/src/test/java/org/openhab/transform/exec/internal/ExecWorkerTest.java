@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ExecWorker} with a shell loop, which answers each input line with the id of the shell process and
+ * the input. The input "slow" is answered after a delay.
+ *
+ * @author agent - Initial contribution
+ */
+public class ExecWorkerTest {
+
+    private static final String COMMAND_LINE = "sh@@-c@@while read l; do if [ \"$l\" = slow ]; then sleep 1; fi; "
+            + "echo \"$$:$l\"; done";
+
+    private static final long TIMEOUT = 200;
+    private static final long RESULT_TIMEOUT = 5000;
+
+    private ExecWorker worker;
+
+    @Before
+    public void setUp() {
+        assumeFalse(System.getProperty("os.name").toLowerCase().contains("windows"));
+        worker = new ExecWorker(COMMAND_LINE, "test");
+    }
+
+    @After
+    public void tearDown() {
+        if (worker != null) {
+            worker.stop();
+        }
+    }
+
+    private static String get(CompletableFuture<String> result) throws Exception {
+        return result.get(RESULT_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    private static String pid(String output) {
+        return output.substring(0, output.indexOf(':'));
+    }
+
+    private static String input(String output) {
+        return output.substring(output.indexOf(':') + 1);
+    }
+
+    private void awaitTimeout(CompletableFuture<String> result) throws Exception {
+        try {
+            result.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            fail("slow input answered in time");
+        } catch (TimeoutException e) {
+            worker.timedOut(result);
+        }
+    }
+
+    @Test
+    public void resultsAreReturnedInTheOrderOfTheInputs() throws Exception {
+        CompletableFuture<String> a = worker.submit("a");
+        CompletableFuture<String> b = worker.submit("b");
+        CompletableFuture<String> c = worker.submit("c");
+
+        assertEquals("a", input(get(a)));
+        assertEquals("b", input(get(b)));
+        assertEquals("c", input(get(c)));
+    }
+
+    @Test
+    public void timeoutFailsOnlyTheTimedOutInput() throws Exception {
+        String firstPid = pid(get(worker.submit("first")));
+
+        CompletableFuture<String> slow = worker.submit("slow");
+        CompletableFuture<String> a = worker.submit("a");
+        CompletableFuture<String> b = worker.submit("b");
+        awaitTimeout(slow);
+
+        try {
+            slow.get();
+            fail("timed out input completed normally");
+        } catch (ExecutionException e) {
+            // expected
+        }
+
+        // the waiting inputs are answered by the new process, in their order
+        String resultA = get(a);
+        String resultB = get(b);
+        assertEquals("a", input(resultA));
+        assertEquals("b", input(resultB));
+        assertNotEquals(firstPid, pid(resultA));
+        assertEquals(pid(resultA), pid(resultB));
+    }
+
+    @Test
+    public void lateOutputIsNotTakenForTheNextInput() throws Exception {
+        CompletableFuture<String> slow = worker.submit("slow");
+        awaitTimeout(slow);
+
+        // written after the restart, while the late answer of the old process would be due
+        CompletableFuture<String> a = worker.submit("a");
+        assertEquals("a", input(get(a)));
+
+        Thread.sleep(1500);
+        assertEquals("b", input(get(worker.submit("b"))));
+    }
+
+    @Test
+    public void timeoutOfAnAnsweredInputDoesNotRestartTheProcess() throws Exception {
+        CompletableFuture<String> a = worker.submit("a");
+        String pid = pid(get(a));
+
+        worker.timedOut(a);
+
+        assertEquals(pid, pid(get(worker.submit("b"))));
+    }
+
+    @Test
+    public void secondTimeoutOfTheSameProcessDoesNotRestartTheNewProcess() throws Exception {
+        CompletableFuture<String> slow = worker.submit("slow");
+        CompletableFuture<String> a = worker.submit("a");
+        awaitTimeout(slow);
+        String pid = pid(get(a));
+
+        // a caller which gave up on the old process as well must not stop the new one
+        worker.timedOut(slow);
+
+        assertEquals(pid, pid(get(worker.submit("b"))));
+    }
+}
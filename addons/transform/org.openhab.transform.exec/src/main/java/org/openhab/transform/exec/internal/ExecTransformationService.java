@@ -12,12 +12,25 @@
  */
 package org.openhab.transform.exec.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.io.net.exec.ExecUtil;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,19 +38,73 @@ import org.slf4j.LoggerFactory;
  * The implementation of {@link TransformationService} which transforms the
  * input by command line.
  *
+ * Command lines prefixed with {@value #WORKER_PREFIX} are started once and kept running, see {@link ExecWorker}.
+ *
  * @author Pauli Anttila
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=EXEC" })
+@Component(immediate = true, configurationPid = "org.openhab.transform.exec", property = {
+        "smarthome.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
 
+    static final String WORKER_PREFIX = "worker:";
+
+    private static final int DEFAULT_WORKERS = 1;
+    private static final long DEFAULT_TIMEOUT = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
 
+    private final Map<String, List<ExecWorker>> workers = new ConcurrentHashMap<>();
+
+    private int workersPerCommand = DEFAULT_WORKERS;
+    private long timeout = DEFAULT_TIMEOUT;
+
+    @Activate
+    protected void activate(@Nullable Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(@Nullable Map<String, Object> config) {
+        int workersPerCommand = DEFAULT_WORKERS;
+        long timeout = DEFAULT_TIMEOUT;
+        if (config != null) {
+            Object workersValue = config.get("workers");
+            if (workersValue != null) {
+                try {
+                    workersPerCommand = Math.max(1, Integer.parseInt(workersValue.toString().trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid number of workers '{}', using default {}", workersValue, DEFAULT_WORKERS);
+                }
+            }
+            Object timeoutValue = config.get("timeout");
+            if (timeoutValue != null) {
+                try {
+                    timeout = Math.max(1, Long.parseLong(timeoutValue.toString().trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid timeout '{}', using default {} ms", timeoutValue, DEFAULT_TIMEOUT);
+                }
+            }
+        }
+        this.timeout = timeout;
+        if (workersPerCommand != this.workersPerCommand) {
+            this.workersPerCommand = workersPerCommand;
+            // started again with the new number of workers on next use
+            stopWorkers();
+        }
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        stopWorkers();
+    }
+
     /**
      * Transforms the input <code>source</code> by the command line.
      *
      * @param commandLine the command to execute. Command line should contain %s string,
-     *                        which will be replaced by the input data.
+     *                        which will be replaced by the input data. If prefixed with {@value #WORKER_PREFIX},
+     *                        the command is kept running and the input data is written to it as a line instead.
      * @param source      the input to transform
      */
     @Override
@@ -50,11 +117,65 @@ public class ExecTransformationService implements TransformationService {
 
         long startTime = System.currentTimeMillis();
 
+        if (commandLine.startsWith(WORKER_PREFIX)) {
+            String result = transformByWorker(commandLine.substring(WORKER_PREFIX.length()).trim(), source);
+            logger.trace("worker transformation elapsed {} ms", System.currentTimeMillis() - startTime);
+            return result;
+        }
+
         String formattedCommandLine = String.format(commandLine, source);
-        String result = ExecUtil.executeCommandLineAndWaitResponse(formattedCommandLine, 5000);
+        String result = ExecUtil.executeCommandLineAndWaitResponse(formattedCommandLine, (int) timeout);
         logger.trace("command line execution elapsed {} ms", System.currentTimeMillis() - startTime);
 
         return result;
     }
 
+    private String transformByWorker(String commandLine, String source) throws TransformationException {
+        if (commandLine.isEmpty()) {
+            throw new TransformationException("no command line given for the worker");
+        }
+        ExecWorker worker = selectWorker(commandLine);
+        CompletableFuture<String> result = worker.submit(source);
+        try {
+            return result.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Worker '{}' did not respond within {} ms", commandLine, timeout);
+            worker.timedOut(result);
+            throw new TransformationException("worker '" + commandLine + "' timed out after " + timeout + " ms");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new TransformationException("worker '" + commandLine + "' failed: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("interrupted while waiting for worker '" + commandLine + "'", e);
+        }
+    }
+
+    /**
+     * Select the worker with least inputs waiting for their result
+     */
+    private ExecWorker selectWorker(String commandLine) {
+        List<ExecWorker> candidates = workers.computeIfAbsent(commandLine, key -> {
+            List<ExecWorker> list = new ArrayList<>(workersPerCommand);
+            for (int i = 0; i < workersPerCommand; i++) {
+                list.add(new ExecWorker(key, Integer.toString(i + 1)));
+            }
+            return Collections.unmodifiableList(list);
+        });
+        ExecWorker selected = candidates.get(0);
+        for (ExecWorker worker : candidates) {
+            if (worker.getPendingCount() < selected.getPendingCount()) {
+                selected = worker;
+            }
+        }
+        return selected;
+    }
+
+    private void stopWorkers() {
+        for (List<ExecWorker> list : workers.values()) {
+            list.forEach(ExecWorker::stop);
+        }
+        workers.clear();
+    }
+
 }
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-lived process transforming values line by line.
+ *
+ * Each input is written as a line to the standard input of the process, and the process is expected to write exactly
+ * one line to its standard output for each input, in the same order. Several inputs can be written before the
+ * results are read back. The process is started on first use, and started again if it has exited or stopped
+ * answering.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ExecWorker {
+
+    private static final String CMD_LINE_DELIMITER = "@@";
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorker.class);
+
+    private final String commandLine;
+    private final String name;
+
+    /**
+     * Inputs waiting for an output line of the current process, in the order they were written. A new queue is used for
+     * every process started.
+     */
+    private volatile Queue<Request> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Guards the replacement of {@link #pending} against the output readers, so a replaced process cannot take the
+     * inputs handed over to its successor. Not held while writing, so a reader never waits for a blocked writer.
+     */
+    private final Object queueLock = new Object();
+
+    private @Nullable Process process;
+    private @Nullable BufferedWriter writer;
+
+    ExecWorker(String commandLine, String name) {
+        this.commandLine = commandLine;
+        this.name = name;
+    }
+
+    /**
+     * Write input to the process
+     *
+     * @param input input value. Line breaks are replaced with spaces, since each input must be a single line.
+     * @return future completed with the output line of the process
+     */
+    synchronized CompletableFuture<String> submit(String input) {
+        Request request = new Request(input.replace('\r', ' ').replace('\n', ' '));
+        CompletableFuture<String> result = request.result;
+        String line = request.line;
+        BufferedWriter writer = this.writer;
+        Process process = this.process;
+        boolean started = false;
+        try {
+            if (writer == null || process == null || !process.isAlive()) {
+                writer = start();
+                started = true;
+            }
+            pending.add(request);
+            write(writer, line);
+        } catch (IOException e) {
+            pending.remove(request);
+            if (started) {
+                result.completeExceptionally(e);
+                stop();
+                return result;
+            }
+            // the process exited before we noticed, try once more with a new one
+            try {
+                writer = start();
+                pending.add(request);
+                write(writer, line);
+            } catch (IOException e2) {
+                pending.remove(request);
+                result.completeExceptionally(e2);
+                stop();
+            }
+        }
+        return result;
+    }
+
+    private void write(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Get number of inputs waiting for their result
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Handle an input whose result was not read in time. The result is failed, so a late output line for it is dropped.
+     * If the input is still the oldest one waiting for the current process, the process has stopped answering and is
+     * replaced. The other inputs waiting for it are written to the new process, so only the timed out input fails.
+     *
+     * @param result the future returned by {@link #submit(String)} for the input
+     */
+    synchronized void timedOut(CompletableFuture<String> result) {
+        result.completeExceptionally(new IOException("Worker process '" + commandLine + "' did not respond in time"));
+        Queue<Request> previous;
+        synchronized (queueLock) {
+            Request oldest = pending.peek();
+            if (oldest == null || oldest.result != result) {
+                // answered meanwhile, or the process it was written to has already been replaced
+                return;
+            }
+            // from now on the output of the old process is dropped instead of completing the waiting inputs
+            previous = pending;
+            pending = new ConcurrentLinkedQueue<>();
+        }
+
+        logger.warn("Worker process '{}' stopped answering, restarting it", commandLine);
+        Process process = this.process;
+        this.process = null;
+        this.writer = null;
+        if (process != null) {
+            process.destroy();
+        }
+        List<Request> waiting = new ArrayList<>();
+        Request request;
+        while ((request = previous.poll()) != null) {
+            if (!request.result.isDone()) {
+                waiting.add(request);
+            }
+        }
+        try {
+            BufferedWriter writer = start();
+            for (Request next : waiting) {
+                pending.add(next);
+                write(writer, next.line);
+            }
+        } catch (IOException e) {
+            waiting.forEach(next -> next.result.completeExceptionally(e));
+            stop();
+        }
+    }
+
+    /**
+     * Stop the process. Inputs waiting for their result are failed.
+     */
+    synchronized void stop() {
+        Process process = this.process;
+        this.process = null;
+        this.writer = null;
+        if (process != null) {
+            logger.debug("Stopping worker {}", name);
+            process.destroy();
+        }
+        failPending(pending, new IOException("Worker process '" + commandLine + "' was stopped"));
+    }
+
+    private BufferedWriter start() throws IOException {
+        // Inputs written to previous process will not get their result anymore
+        Process previous = this.process;
+        this.process = null;
+        this.writer = null;
+        if (previous != null) {
+            previous.destroy();
+        }
+        failPending(pending, new IOException("Worker process '" + commandLine + "' exited"));
+        Queue<Request> pending = new ConcurrentLinkedQueue<>();
+        synchronized (queueLock) {
+            this.pending = pending;
+        }
+
+        String[] command = commandLine.contains(CMD_LINE_DELIMITER) ? commandLine.split(CMD_LINE_DELIMITER)
+                : commandLine.trim().split("\\s+");
+        logger.debug("Starting worker {}: {}", name, Arrays.toString(command));
+        Process process = new ProcessBuilder(command).start();
+        BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.process = process;
+        this.writer = writer;
+
+        startThread("output", () -> readOutput(process, pending));
+        startThread("error", () -> readErrors(process));
+        return writer;
+    }
+
+    private void startThread(String stream, Runnable runnable) {
+        Thread thread = new Thread(runnable, "OH-transform-exec-" + name + "-" + stream);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void readOutput(Process process, Queue<Request> pending) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Request request;
+                synchronized (queueLock) {
+                    if (this.pending != pending) {
+                        logger.debug("Dropping output of replaced process of worker {}: {}", name, line);
+                        continue;
+                    }
+                    request = pending.poll();
+                }
+                if (request == null) {
+                    logger.warn("Worker process '{}' wrote unexpected output: {}", commandLine, line);
+                } else {
+                    request.result.complete(line);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Reading output of worker {} failed: {}", name, e.getMessage());
+        }
+        synchronized (this) {
+            if (this.process == process) {
+                logger.warn("Worker process '{}' exited, it will be restarted on next use", commandLine);
+                this.process = null;
+                this.writer = null;
+            }
+            failPending(pending, new IOException("Worker process '" + commandLine + "' exited"));
+        }
+    }
+
+    private void readErrors(Process process) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                logger.debug("Worker {}: {}", name, line);
+            }
+        } catch (IOException e) {
+            logger.trace("Reading errors of worker {} failed: {}", name, e.getMessage());
+        }
+    }
+
+    private void failPending(Queue<Request> pending, Exception cause) {
+        Request request;
+        while ((request = pending.poll()) != null) {
+            request.result.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Input line written to the process together with the future for its output line
+     */
+    private static class Request {
+        final String line;
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        Request(String line) {
+            this.line = line;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of compiled instances of a single script.
+ *
+ * Script engines are not thread safe, so each instance is compiled with its own engine and used by one thread at a
+ * time. Instances are compiled on demand, up to the maximum size of the pool. The pool also collects execution
+ * metrics of the script.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class CompiledScriptPool {
+
+    private final Logger logger = LoggerFactory.getLogger(CompiledScriptPool.class);
+
+    private final String filename;
+    private final String script;
+    private final ScriptEngineManager engineManager;
+    private final BlockingQueue<CompiledScript> idleScripts;
+    private final int maxSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Create pool and compile the first instance of the script
+     *
+     * @param filename name of the script file
+     * @param script script source
+     * @param engineManager manager for creating the script engines
+     * @param maxSize maximum number of compiled instances
+     * @throws TransformationException if the script cannot be compiled
+     */
+    CompiledScriptPool(String filename, String script, ScriptEngineManager engineManager, int maxSize)
+            throws TransformationException {
+        this.filename = filename;
+        this.script = script;
+        this.engineManager = engineManager;
+        this.maxSize = maxSize;
+        this.idleScripts = new ArrayBlockingQueue<>(maxSize);
+        size.incrementAndGet();
+        idleScripts.add(compile());
+    }
+
+    private CompiledScript compile() throws TransformationException {
+        final ScriptEngine engine;
+        // ScriptEngineManager is not guaranteed to be thread safe
+        synchronized (engineManager) {
+            engine = engineManager.getEngineByName("javascript");
+        }
+        try {
+            logger.debug("Compiling instance {} of JavaScript {}.", size.get(), filename);
+            return ((Compilable) engine).compile(script);
+        } catch (ScriptException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Borrow compiled script for exclusive use. The script must be given back with {@link #release(CompiledScript)}.
+     *
+     * Waits for an instance to become available, if the maximum number of instances is in use.
+     *
+     * @return compiled script
+     * @throws TransformationException if a new instance cannot be compiled, or the thread is interrupted
+     */
+    public CompiledScript borrow() throws TransformationException {
+        CompiledScript compiledScript = idleScripts.poll();
+        if (compiledScript != null) {
+            return compiledScript;
+        }
+        int current;
+        while ((current = size.get()) < maxSize) {
+            if (size.compareAndSet(current, current + 1)) {
+                try {
+                    return compile();
+                } catch (TransformationException e) {
+                    size.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+        try {
+            return idleScripts.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while waiting for JavaScript " + filename, e);
+        }
+    }
+
+    /**
+     * Give back a borrowed script
+     *
+     * @param compiledScript script returned by {@link #borrow()}
+     */
+    public void release(CompiledScript compiledScript) {
+        idleScripts.offer(compiledScript);
+    }
+
+    /**
+     * Record execution of the script
+     *
+     * @param nanos execution time in nanoseconds
+     * @param success whether the execution succeeded
+     */
+    public void record(long nanos, boolean success) {
+        invocations.increment();
+        if (!success) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Get number of compiled instances of the script
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Get mean execution time in milliseconds
+     */
+    public double getMeanMillis() {
+        long count = invocations.sum();
+        return count == 0 ? 0 : totalNanos.sum() / 1e6 / count;
+    }
+
+    /**
+     * Get maximum execution time in milliseconds
+     */
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * Clear the collected metrics
+     */
+    public void resetMetrics() {
+        invocations.reset();
+        errors.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d instances, %d invocations, %d errors, mean %.3f ms, max %.3f ms", filename,
+                getSize(), getInvocations(), getErrors(), getMeanMillis(), getMaxMillis());
+    }
+}
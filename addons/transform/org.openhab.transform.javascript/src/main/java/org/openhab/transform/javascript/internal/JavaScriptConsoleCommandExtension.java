@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for inspecting the execution metrics of the cached JavaScript transformations
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class JavaScriptConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+    private static final String SUBCMD_RESET = "reset";
+
+    private @NonNullByDefault({}) JavaScriptEngineManager manager;
+
+    public JavaScriptConsoleCommandExtension() {
+        super("jstransform", "Inspect the JavaScript transformations.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 0) {
+            printUsage(console);
+            return;
+        }
+        Collection<CompiledScriptPool> pools = manager.getScriptPools();
+        switch (args[0]) {
+            case SUBCMD_METRICS:
+                if (pools.isEmpty()) {
+                    console.println("No JavaScript transformations loaded");
+                }
+                pools.forEach(pool -> console.println(pool.toString()));
+                break;
+            case SUBCMD_RESET:
+                pools.forEach(CompiledScriptPool::resetMetrics);
+                console.println("Metrics of all JavaScript transformations cleared");
+                break;
+            default:
+                console.println("Unknown command '" + args[0] + "'");
+                printUsage(console);
+                break;
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(
+                buildCommandUsage(SUBCMD_METRICS,
+                        "lists invocation counts and execution times of the loaded JavaScript transformations"),
+                buildCommandUsage(SUBCMD_RESET, "clears the metrics of all JavaScript transformations"));
+    }
+
+    @Reference
+    public void setJavaScriptEngineManager(JavaScriptEngineManager manager) {
+        this.manager = manager;
+    }
+
+    public void unsetJavaScriptEngineManager(JavaScriptEngineManager manager) {
+        this.manager = null;
+    }
+}
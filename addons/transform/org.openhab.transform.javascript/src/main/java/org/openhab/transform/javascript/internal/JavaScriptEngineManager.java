@@ -17,15 +17,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import javax.script.Compilable;
-import javax.script.CompiledScript;
-import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 
+import org.apache.commons.io.IOUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.osgi.service.component.annotations.Component;
@@ -35,6 +34,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Simple cache for compiled JavaScript files.
  *
+ * Each script is kept in a {@link CompiledScriptPool}, so that the same script can be executed by several threads in
+ * parallel.
+ *
  * @author Thomas Kordelle - pre compiled scripts
  *
  */
@@ -42,48 +44,66 @@ import org.slf4j.LoggerFactory;
 @Component(service = JavaScriptEngineManager.class)
 public class JavaScriptEngineManager {
 
+    /**
+     * Maximum number of compiled instances of a single script
+     */
+    private static final int MAX_INSTANCES_PER_SCRIPT = Math.min(4, Runtime.getRuntime().availableProcessors());
+
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    private final Map<String, CompiledScriptPool> scriptPools = new ConcurrentHashMap<>();
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
-     * storage and put a pre compiled version into the cache.
+     * Get the pool of pre compiled instances of a script from cache. If it is not in the cache, then load it from
+     * storage and put a pool with a pre compiled version into the cache.
      *
      * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
+     * @return pool of pre compiled instances of the script
      * @throws TransformationException if compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
-                }
+    protected CompiledScriptPool getScriptPool(final String filename) throws TransformationException {
+        CompiledScriptPool pool = scriptPools.get(filename);
+        if (pool != null) {
+            return pool;
+        }
+        synchronized (scriptPools) {
+            // double check, the script might have been loaded while waiting for the lock
+            pool = scriptPools.get(filename);
+            if (pool == null) {
+                pool = new CompiledScriptPool(filename, loadScript(filename), manager, MAX_INSTANCES_PER_SCRIPT);
+                logger.debug("Putting compiled JavaScript {} to cache.", filename);
+                scriptPools.put(filename, pool);
             }
+            return pool;
         }
     }
 
+    private String loadScript(final String filename) throws TransformationException {
+        final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+        logger.debug("Loading script {} from storage ", path);
+        try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
+            return IOUtils.toString(reader);
+        } catch (IOException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the pools of all cached scripts
+     *
+     * @return cached script pools
+     */
+    protected Collection<CompiledScriptPool> getScriptPools() {
+        return Collections.unmodifiableCollection(scriptPools.values());
+    }
+
     /**
      * remove a pre compiled script from cache.
      *
-     * @param fileName name of the script file to remove
+     * @param fileName name of the script file to remove. Scripts in subfolders with the same name are removed as well.
      */
     protected void removeFromCache(String fileName) {
         logger.debug("Removing JavaScript {} from cache.", fileName);
-        compiledScriptMap.remove(fileName);
+        scriptPools.keySet().removeIf(key -> key.equals(fileName) || new File(key).getName().equals(fileName));
     }
 }
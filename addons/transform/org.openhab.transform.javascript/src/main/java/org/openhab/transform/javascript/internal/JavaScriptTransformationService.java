@@ -65,22 +65,27 @@ public class JavaScriptTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        final long startTime = System.currentTimeMillis();
         logger.debug("about to transform '{}' by the JavaScript '{}'", source, filename);
 
         String result = "";
 
+        final CompiledScriptPool pool = manager.getScriptPool(filename);
+        final CompiledScript cScript = pool.borrow();
+        final long startTime = System.nanoTime();
+        boolean success = false;
         try {
-            final CompiledScript cScript = manager.getScript(filename);
             final Bindings bindings = cScript.getEngine().createBindings();
             bindings.put("input", source);
             result = String.valueOf(cScript.eval(bindings));
+            success = true;
             return result;
         } catch (ScriptException e) {
             throw new TransformationException("An error occurred while executing script. " + e.getMessage(), e);
         } finally {
-            logger.trace("JavaScript execution elapsed {} ms. Result: {}", System.currentTimeMillis() - startTime,
-                    result);
+            pool.release(cScript);
+            final long elapsed = System.nanoTime() - startTime;
+            pool.record(elapsed, success);
+            logger.trace("JavaScript execution elapsed {} ms. Result: {}", elapsed / 1000000, result);
         }
     }
 }
@@ -81,6 +81,21 @@ public class JSonPathTransformationServiceTest {
         assertEquals(null, transformedResponse);
     }
 
+    @Test
+    public void testSeveralPathsOnSameSource() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", jsonArray));
+    }
+
+    @Test
+    public void testSamePathOnChangingSource() throws TransformationException {
+        assertEquals("21.5", processor.transform("$.temperature", "{ \"temperature\": 21.5 }"));
+        assertEquals("22.0", processor.transform("$.temperature", "{ \"temperature\": 22.0 }"));
+        assertEquals("21.5", processor.transform("$.temperature", "{ \"temperature\": 21.5 }"));
+    }
+
     @Test
     public void testIndefinite_filteredToSingle() throws TransformationException {
         String transformedResponse = processor.transform("$.*[?(@.name=='bob')].id", jsonArray);
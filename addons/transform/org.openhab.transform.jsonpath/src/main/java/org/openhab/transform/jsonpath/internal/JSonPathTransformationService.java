@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -23,6 +26,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -40,8 +44,22 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled JsonPath expressions kept in the cache
+     */
+    private static final int MAX_CACHED_PATHS = 256;
+
+    /**
+     * Maximum number of parsed JSON documents kept in the cache. Things typically evaluate several expressions on the
+     * same message right after each other, so only the most recent messages are worth keeping.
+     */
+    private static final int MAX_CACHED_DOCUMENTS = 16;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> compiledPaths = createLruCache(MAX_CACHED_PATHS);
+    private final Map<String, DocumentContext> parsedDocuments = createLruCache(MAX_CACHED_DOCUMENTS);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -59,7 +77,7 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = parse(source).read(compile(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -75,6 +93,35 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath compile(String jsonPathExpression) {
+        JsonPath jsonPath = compiledPaths.get(jsonPathExpression);
+        if (jsonPath == null) {
+            jsonPath = JsonPath.compile(jsonPathExpression);
+            compiledPaths.put(jsonPathExpression, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    private DocumentContext parse(String source) {
+        DocumentContext document = parsedDocuments.get(source);
+        if (document == null) {
+            document = JsonPath.parse(source);
+            parsedDocuments.put(source, document);
+        }
+        return document;
+    }
+
+    private static <V> Map<String, V> createLruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(maxSize, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
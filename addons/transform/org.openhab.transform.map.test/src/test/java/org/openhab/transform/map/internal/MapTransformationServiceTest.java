@@ -134,6 +134,22 @@ public class MapTransformationServiceTest {
         Assert.assertEquals("Default Value", transformedResponse);
     }
 
+    @Test
+    public void testReverseTransformByMap() throws Exception {
+        String transformedResponse = processor.reverseTransform(EXISTING_FILENAME_DE, "zu");
+        Assert.assertEquals(SOURCE_CLOSED, transformedResponse);
+
+        // Unknown values and the default value are not mapped back
+        transformedResponse = processor.reverseTransform(EXISTING_FILENAME_DE, SOURCE_UNKNOWN);
+        Assert.assertEquals("", transformedResponse);
+        transformedResponse = processor.reverseTransform(DEFAULTED_FILENAME, "Default Value");
+        Assert.assertEquals("", transformedResponse);
+
+        // Reverse lookup does not affect the forward direction
+        transformedResponse = processor.transform(EXISTING_FILENAME_DE, SOURCE_CLOSED);
+        Assert.assertEquals("zu", transformedResponse);
+    }
+
     protected void waitForAssert(Callable<Void> assertion, int timeout, int sleepTime) throws Exception {
         int waitingTime = 0;
         while (waitingTime < timeout) {
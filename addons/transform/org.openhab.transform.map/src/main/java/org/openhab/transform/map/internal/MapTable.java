@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.map.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable table of the mappings of a map file.
+ *
+ * Lookups do not lock, so a table can be shared by any number of threads. A changed file is loaded into a new table,
+ * which replaces the old one as a whole.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class MapTable {
+
+    private final Map<String, String> mappings;
+    private final Map<String, String> reverseMappings;
+    private final @Nullable String defaultValue;
+
+    /**
+     * @param entries mappings in the order they appear in the file. The entry with the empty key is the default
+     *            value.
+     */
+    public MapTable(Map<String, String> entries) {
+        Map<String, String> mappings = new HashMap<>(entries);
+        this.defaultValue = mappings.remove("");
+        this.mappings = Collections.unmodifiableMap(mappings);
+
+        Map<String, String> reverseMappings = new HashMap<>();
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            if (!entry.getKey().isEmpty()) {
+                // if several keys map to the same value, the first one wins
+                reverseMappings.putIfAbsent(entry.getValue(), entry.getKey());
+            }
+        }
+        this.reverseMappings = Collections.unmodifiableMap(reverseMappings);
+    }
+
+    /**
+     * Map source to target
+     *
+     * @return target of the source, the default value if the source is not mapped, or null if there is no default
+     *         value either
+     */
+    public @Nullable String get(String source) {
+        String target = mappings.get(source);
+        return target != null ? target : defaultValue;
+    }
+
+    /**
+     * Map target back to source
+     *
+     * @return first source mapped to the target, or null if there is none
+     */
+    public @Nullable String getSource(String target) {
+        return reverseMappings.get(target);
+    }
+
+    /**
+     * Get number of mappings, not counting the default value
+     */
+    public int size() {
+        return mappings.size();
+    }
+}
@@ -14,6 +14,8 @@ package org.openhab.transform.map.internal;
 
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import org.eclipse.smarthome.core.transform.AbstractFileTransformationService;
@@ -31,28 +33,55 @@ import org.slf4j.LoggerFactory;
  * @author Gaël L'hopital - Make it localizable
  */
 @Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=MAP" })
-public class MapTransformationService extends AbstractFileTransformationService<Properties> {
+public class MapTransformationService extends AbstractFileTransformationService<MapTable> {
 
     private final Logger logger = LoggerFactory.getLogger(MapTransformationService.class);
 
+    /**
+     * Marks a source to be mapped back by {@link #internalTransform(MapTable, String)}. The reverse lookup passes
+     * through {@link #transform(String, String)}, so it uses the same resolved and cached {@link MapTable} as the
+     * forward direction. The marker starts with a NUL character, which does not occur in the states and commands
+     * passed to the transformation.
+     */
+    private static final String REVERSE_MARKER = "\u0000reverse:";
+
+    /**
+     * Transforms the input <code>source</code> by mapping it back to the first key of the map file which is mapped to
+     * it. The map file is resolved and cached in the same way as by {@link #transform(String, String)}.
+     *
+     * @param filename the map file
+     * @param source the value to map back
+     * @return the key mapped to the source, or an empty string if there is none
+     */
+    public String reverseTransform(String filename, String source) throws TransformationException {
+        return transform(filename, REVERSE_MARKER + source);
+    }
+
     /**
      * <p>
      * Transforms the input <code>source</code> by mapping it to another string. It expects the mappings to be read from
      * a file which is stored under the 'configurations/transform' folder. This file should be in property syntax, i.e.
      * simple lines with "key=value" pairs. To organize the various transformations one might use subfolders.
      *
-     * @param properties the list of properties which contains the key value pairs for the mapping.
+     * @param table the table which contains the key value pairs for the mapping.
      * @param source the input to transform
      */
     @Override
-    protected String internalTransform(Properties properties, String source) throws TransformationException {
-        String target = properties.getProperty(source);
+    protected String internalTransform(MapTable table, String source) throws TransformationException {
+        if (source.startsWith(REVERSE_MARKER)) {
+            String target = source.substring(REVERSE_MARKER.length());
+            String key = table.getSource(target);
+            if (key == null) {
+                throw new TransformationException("No key mapped to '" + target + "' in map");
+            }
+            logger.debug("Reverse transformation resulted in '{}'", key);
+            return key;
+        }
+
+        String target = table.get(source);
 
         if (target == null) {
-            target = properties.getProperty("");
-            if (target == null) {
-                throw new TransformationException("Target value not found in map for '" + source + "'");
-            }
+            throw new TransformationException("Target value not found in map for '" + source + "'");
         }
 
         logger.debug("Transformation resulted in '{}'", target);
@@ -60,11 +89,20 @@ public class MapTransformationService extends AbstractFileTransformationService<
     }
 
     @Override
-    protected Properties internalLoadTransform(String filename) throws TransformationException {
-        Properties result = new Properties();
+    protected MapTable internalLoadTransform(String filename) throws TransformationException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        Properties properties = new Properties() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public synchronized Object put(Object key, Object value) {
+                // keep the order of the file for the reverse mapping
+                return entries.put((String) key, (String) value);
+            }
+        };
         try (FileReader reader = new FileReader(filename)) {
-            result.load(reader);
-            return result;
+            properties.load(reader);
+            return new MapTable(entries);
         } catch (IOException e) {
             throw new TransformationException("An error occurred while opening file.", e);
         }
@@ -24,6 +24,7 @@ import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.Type;
+import org.openhab.transform.map.internal.MapTransformationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,11 +47,13 @@ public class MapTransformationProfile implements StateProfile {
 
     private static final String FUNCTION_PARAM = "function";
     private static final String SOURCE_FORMAT_PARAM = "sourceFormat";
+    private static final String REVERSE_PARAM = "reverse";
 
     @NonNullByDefault({})
     private final String function;
     @NonNullByDefault({})
     private final String sourceFormat;
+    private final boolean reverse;
 
     public MapTransformationProfile(ProfileCallback callback, ProfileContext context, TransformationService service) {
         this.service = service;
@@ -58,6 +61,7 @@ public class MapTransformationProfile implements StateProfile {
 
         Object paramFunction = context.getConfiguration().get(FUNCTION_PARAM);
         Object paramSource = context.getConfiguration().get(SOURCE_FORMAT_PARAM);
+        Object paramReverse = context.getConfiguration().get(REVERSE_PARAM);
 
         logger.debug("Profile configured with '{}'='{}', '{}'={}", FUNCTION_PARAM, paramFunction, SOURCE_FORMAT_PARAM,
                 paramSource);
@@ -74,6 +78,7 @@ public class MapTransformationProfile implements StateProfile {
             function = null;
             sourceFormat = null;
         }
+        reverse = Boolean.TRUE.equals(paramReverse) || "true".equals(paramReverse);
     }
 
     @Override
@@ -88,6 +93,10 @@ public class MapTransformationProfile implements StateProfile {
 
     @Override
     public void onCommandFromItem(Command command) {
+        if (reverse && function != null && service instanceof MapTransformationService) {
+            callback.handleCommand(reverseTransformCommand((MapTransformationService) service, command));
+            return;
+        }
         callback.handleCommand(command);
     }
 
@@ -132,4 +141,19 @@ public class MapTransformationProfile implements StateProfile {
         logger.debug("Transformed '{}' into '{}'", state, resultType);
         return resultType;
     }
+
+    private Command reverseTransformCommand(MapTransformationService service, Command command) {
+        try {
+            String result = service.reverseTransform(function, command.toFullString());
+            if (result != null && !result.isEmpty()) {
+                StringType resultType = new StringType(result);
+                logger.debug("Transformed '{}' back into '{}'", command, resultType);
+                return resultType;
+            }
+            // no key is mapped to the command, we will pass on the original command
+        } catch (TransformationException e) {
+            logger.warn("Could not transform command '{}' back with function '{}'", command, function);
+        }
+        return command;
+    }
 }
@@ -79,4 +79,12 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_repeated() throws TransformationException {
+        assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        assertEquals("SetMode(43)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:43"));
+        assertEquals("42", processor.transform("OP:.*?,ARG:(.*)", "OP:SetMode,ARG:42"));
+        assertEquals("43", processor.transform("OP:.*?,ARG:(.*)", "OP:SetMode,ARG:43"));
+    }
 }
@@ -12,6 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +43,21 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /**
+     * Maximum number of compiled patterns kept in the cache
+     */
+    private static final int MAX_CACHED_PATTERNS = 256;
+
+    private final Map<String, Pattern> compiledPatterns = Collections
+            .synchronizedMap(new LinkedHashMap<String, Pattern>(MAX_CACHED_PATTERNS, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, Pattern> eldest) {
+                    return size() > MAX_CACHED_PATTERNS;
+                }
+            });
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -56,17 +74,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher sourceMatcher = compile(regex, 0).matcher(source.trim());
             if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = sourceMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = sourceMatcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -95,4 +114,13 @@ public class RegExTransformationService implements TransformationService {
         return result;
     }
 
+    private Pattern compile(String regex, int flags) {
+        Pattern pattern = compiledPatterns.get(regex);
+        if (pattern == null || pattern.flags() != flags) {
+            pattern = Pattern.compile(regex, flags);
+            compiledPatterns.put(regex, pattern);
+        }
+        return pattern;
+    }
+
 }
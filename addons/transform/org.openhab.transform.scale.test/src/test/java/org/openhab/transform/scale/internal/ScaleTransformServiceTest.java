@@ -77,6 +77,20 @@ public class ScaleTransformServiceTest {
         Assert.assertEquals("catchall", transformedResponse);
     }
 
+    @Test
+    public void testTransformByScaleAtLimits() throws TransformationException {
+        String existingscale = "scale/limits.scale";
+
+        Assert.assertEquals("middle", processor.transform(existingscale, "10"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "19.999"));
+        Assert.assertEquals("high", processor.transform(existingscale, "20"));
+        Assert.assertEquals("high", processor.transform(existingscale, "+20.0"));
+        // Equals to 300 with double precision
+        Assert.assertEquals("high", processor.transform(existingscale, "299.99999999999999999999"));
+        Assert.assertEquals("extreme", processor.transform(existingscale, "300"));
+        Assert.assertEquals("low", processor.transform(existingscale, "-.5"));
+    }
+
     @Test
     public void testTransformByScaleUndef() throws TransformationException {
 
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Index of the ranges of a scale file, for looking up the matching range with binary search.
+ *
+ * The limits of all ranges split the numbers into segments: the limits themselves and the open intervals between
+ * them. Each segment is either fully contained in a range or not at all, so the first range matching a segment can
+ * be resolved when the index is built.
+ *
+ * @author agent - Initial contribution
+ */
+public class RangeIndex {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /** Distinct limits of the ranges, in ascending order */
+    private final BigDecimal[] limits;
+
+    /** The limits as doubles, for the fast path with plain numbers */
+    private final double[] limitValues;
+
+    /**
+     * Result of each segment, or null if no range matches the segment. Segment 2i is the open interval below
+     * limits[i], and segment 2i+1 is limits[i] itself.
+     */
+    private final String[] results;
+
+    /**
+     * @param ranges ranges and their results. The first matching range in iteration order wins.
+     */
+    public RangeIndex(Map<Range, String> ranges) {
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                sortedLimits.add(range.min);
+            }
+            if (range.max != null) {
+                sortedLimits.add(range.max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[sortedLimits.size()]);
+        limitValues = new double[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            limitValues[i] = limits[i].doubleValue();
+        }
+
+        results = new String[2 * limits.length + 1];
+        for (int segment = 0; segment < results.length; segment++) {
+            BigDecimal value = representative(segment);
+            for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+                if (entry.getKey().contains(value)) {
+                    results[segment] = entry.getValue();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a value within the segment
+     */
+    private BigDecimal representative(int segment) {
+        int i = segment / 2;
+        if (segment % 2 == 1) {
+            return limits[i];
+        } else if (limits.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (i == 0) {
+            return limits[0].subtract(BigDecimal.ONE);
+        } else if (i == limits.length) {
+            return limits[i - 1].add(BigDecimal.ONE);
+        } else {
+            return limits[i - 1].add(limits[i]).divide(TWO);
+        }
+    }
+
+    /**
+     * Find the segment containing the value
+     *
+     * @param value value to look up
+     * @return segment index
+     */
+    public int findSegment(BigDecimal value) {
+        int low = 0;
+        int high = limits.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = value.compareTo(limits[mid]);
+            if (cmp > 0) {
+                low = mid + 1;
+            } else if (cmp < 0) {
+                high = mid - 1;
+            } else {
+                return 2 * mid + 1;
+            }
+        }
+        return 2 * low;
+    }
+
+    /**
+     * Find the segment containing the value, using double precision
+     *
+     * Rounding to double preserves order, so a value strictly between two limits as doubles is strictly between the
+     * limits also with full precision. Only values equal to a limit as doubles are ambiguous.
+     *
+     * @param value value to look up, as rounded from the decimal representation
+     * @return segment index, or -1 if the segment cannot be determined with double precision
+     */
+    public int findSegment(double value) {
+        int low = 0;
+        int high = limitValues.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (value > limitValues[mid]) {
+                low = mid + 1;
+            } else if (value < limitValues[mid]) {
+                high = mid - 1;
+            } else {
+                return -1;
+            }
+        }
+        return 2 * low;
+    }
+
+    /**
+     * Get result of the first range matching the segment
+     *
+     * @param segment segment index
+     * @return result, or null if no range matches
+     */
+    public String getResult(int segment) {
+        return results[segment];
+    }
+
+}
@@ -42,7 +42,7 @@ import org.slf4j.LoggerFactory;
  * @author Markus Rathgeb - drop usage of Guava
  */
 @Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=SCALE" })
-public class ScaleTransformationService extends AbstractFileTransformationService<Map<Range, String>> {
+public class ScaleTransformationService extends AbstractFileTransformationService<RangeIndex> {
 
     private final Logger logger = LoggerFactory.getLogger(ScaleTransformationService.class);
 
@@ -90,31 +90,59 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
      *
      */
     @Override
-    protected String internalTransform(Map<Range, String> data, String source) throws TransformationException {
+    protected String internalTransform(RangeIndex data, String source) throws TransformationException {
+        if (isPlainNumber(source)) {
+            // Fast path avoiding BigDecimal, unless the value is too close to a limit to tell with double precision
+            int segment = data.findSegment(Double.parseDouble(source));
+            if (segment < 0) {
+                segment = data.findSegment(new BigDecimal(source));
+            }
+            return getScaleResult(data, source, segment);
+        }
         try {
             final BigDecimal value = new BigDecimal(source);
 
-            return getScaleResult(data, source, value);
+            return getScaleResult(data, source, data.findSegment(value));
         } catch (NumberFormatException e) {
             // Scale can only be used with numeric inputs, so lets try to see if ever its a valid quantity type
             try {
                 final QuantityType<?> quantity = new QuantityType<>(source);
-                return getScaleResult(data, source, quantity.toBigDecimal());
+                return getScaleResult(data, source, data.findSegment(quantity.toBigDecimal()));
             } catch (NumberFormatException e2) {
                 throw new TransformationException("Scale can only be used with numeric inputs or valid quantity types");
             }
         }
     }
 
-    private String getScaleResult(Map<Range, String> data, String source, final BigDecimal value)
-            throws TransformationException {
-        return data.entrySet().stream().filter(entry -> entry.getKey().contains(value)).findFirst()
-                .map(Map.Entry::getValue)
-                .orElseThrow(() -> new TransformationException("No matching range for '" + source + "'"));
+    private String getScaleResult(RangeIndex data, String source, int segment) throws TransformationException {
+        final String result = data.getResult(segment);
+        if (result == null) {
+            throw new TransformationException("No matching range for '" + source + "'");
+        }
+        return result;
+    }
+
+    /**
+     * Check whether the source is a plain decimal number, such as <code>-12.5</code>, without exponent
+     */
+    private static boolean isPlainNumber(String source) {
+        boolean digits = false;
+        boolean point = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else if (i != 0 || (c != '-' && c != '+')) {
+                return false;
+            }
+        }
+        return digits;
     }
 
     @Override
-    protected Map<Range, String> internalLoadTransform(String filename) throws TransformationException {
+    protected RangeIndex internalLoadTransform(String filename) throws TransformationException {
         try (FileReader reader = new FileReader(filename)) {
             final Map<Range, String> data = new LinkedHashMap<>();
             final OrderedProperties properties = new OrderedProperties();
@@ -146,7 +174,7 @@ public class ScaleTransformationService extends AbstractFileTransformationServic
                 }
             }
 
-            return data;
+            return new RangeIndex(data);
         } catch (final IOException ex) {
             throw new TransformationException("An error occurred while opening file.", ex);
         }
@@ -41,4 +41,37 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformBySimpleXPath() throws TransformationException {
+        assertEquals("8", processor.transform("/xml_api_reply/weather/current_conditions/temp_c/@data", source));
+        assertEquals("Klar", processor.transform("//forecast_conditions/condition/@data", source));
+        assertEquals("", processor.transform("/weather/current_conditions/temp_c/@data", source));
+        assertEquals("", processor.transform("//current_conditions/@data", source));
+    }
+
+    @Test
+    public void testTransformBySimpleXPathTextContent() throws TransformationException {
+        String xml = "<root><a>skip</a><b><c>1</c><![CDATA[2]]><d>3</d></b><b>4</b></root>";
+        assertEquals("123", processor.transform("/root/b", xml));
+        assertEquals("123", processor.transform("//b", xml));
+        assertEquals("1", processor.transform("//b/c", xml));
+    }
+
+    @Test
+    public void testTransformBySimpleXPathIgnoresNamespacedElements() throws TransformationException {
+        String xml = "<root xmlns:x=\"urn:test\"><x:value>1</x:value><value>2</value></root>";
+        assertEquals("2", processor.transform("/root/value", xml));
+    }
+
+    @Test
+    public void testTransformByComplexXPath() throws TransformationException {
+        assertEquals("6", processor.transform("//forecast_conditions[1]/high/@data", source));
+        assertEquals("4", processor.transform("count(//forecast_conditions)", source));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformBySimpleXPathInvalidXml() throws TransformationException {
+        processor.transform("/root/a", "<root><a>1</a>");
+    }
+
 }
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple XPath expressions by streaming through the document, without building a DOM.
+ *
+ * Supported are location paths consisting of element names only, optionally starting with <code>//</code> and
+ * optionally ending with an attribute, e.g. <code>/weather/temp_c</code> or <code>//current_conditions/@data</code>.
+ * Like with {@link javax.xml.xpath.XPathConstants#STRING}, the string value of the first matching node in document
+ * order is returned.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class SimpleXPathEvaluator {
+
+    private static final String NAME = "[A-Za-z_][\\w.\\-]*";
+    private static final Pattern SIMPLE_PATH_PATTERN = Pattern
+            .compile("(?<root>//?)(?<steps>" + NAME + "(?:/" + NAME + ")*)(?:/@(?<attribute>" + NAME + "))?");
+
+    /**
+     * Steps are tracked in bits of a long, one bit reserved for the empty match
+     */
+    private static final int MAX_STEPS = 62;
+
+    private final boolean descendant;
+    private final String[] steps;
+    private final @Nullable String attribute;
+
+    private SimpleXPathEvaluator(boolean descendant, String[] steps, @Nullable String attribute) {
+        this.descendant = descendant;
+        this.steps = steps;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Create evaluator for given expression
+     *
+     * @param expression XPath expression
+     * @return evaluator, or null if the expression is not simple enough for this evaluator
+     */
+    static @Nullable SimpleXPathEvaluator compile(String expression) {
+        Matcher matcher = SIMPLE_PATH_PATTERN.matcher(expression.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String[] steps = matcher.group("steps").split("/");
+        if (steps.length > MAX_STEPS) {
+            return null;
+        }
+        return new SimpleXPathEvaluator("//".equals(matcher.group("root")), steps, matcher.group("attribute"));
+    }
+
+    /**
+     * Evaluate the expression against given document
+     *
+     * @param factory factory to create the stream reader with
+     * @param source XML document
+     * @return string value of the first matching node, empty string if there is no match, or null if the document
+     *         cannot be evaluated without DOM (it has a DTD)
+     * @throws XMLStreamException if the document is not well-formed
+     */
+    @Nullable
+    String evaluate(XMLInputFactory factory, String source) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(new StringReader(source));
+        try {
+            long fullMatch = 1L << steps.length;
+            // matches[depth] has bit k set if the first k steps match the element at depth
+            long[] matches = new long[16];
+            matches[0] = 1L;
+            int depth = 0;
+            String result = null;
+            StringBuilder text = null;
+            int textDepth = 0;
+            // The whole document is read, so that errors are reported the same way as when parsing to DOM
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.DTD:
+                        return null;
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        if (depth == matches.length) {
+                            matches = Arrays.copyOf(matches, matches.length * 2);
+                        }
+                        matches[depth] = matchStep(reader, matches[depth - 1] | (descendant ? 1L : 0L));
+                        if (result == null && text == null && (matches[depth] & fullMatch) != 0) {
+                            if (attribute == null) {
+                                text = new StringBuilder();
+                                textDepth = depth;
+                            } else {
+                                result = getAttributeValue(reader, attribute);
+                            }
+                        }
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (text != null) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (text != null && depth == textDepth) {
+                            result = text.toString();
+                            text = null;
+                        }
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return result == null ? "" : result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private long matchStep(XMLStreamReader reader, long parentMatches) {
+        if (!isEmpty(reader.getNamespaceURI())) {
+            // unprefixed names in XPath only match elements without namespace
+            return 0;
+        }
+        String name = reader.getLocalName();
+        long matches = 0;
+        for (int k = 0; k < steps.length; k++) {
+            if ((parentMatches & (1L << k)) != 0 && steps[k].equals(name)) {
+                matches |= 1L << (k + 1);
+            }
+        }
+        return matches;
+    }
+
+    private static @Nullable String getAttributeValue(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (isEmpty(reader.getAttributeNamespace(i)) && name.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(@Nullable String value) {
+        return value == null || value.isEmpty();
+    }
+}
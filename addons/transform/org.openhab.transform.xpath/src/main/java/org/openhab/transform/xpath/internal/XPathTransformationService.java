@@ -12,13 +12,19 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,19 +36,47 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * Simple expressions are evaluated by streaming through the input with {@link SimpleXPathEvaluator}, other expressions
+ * are evaluated against a DOM. Compiled expressions are cached.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled expressions kept in the cache
+     */
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+    private final XPathFactory xpathFactory = XPathFactory.newInstance();
+    private final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+
+    private final Map<String, CompiledExpression> compiledExpressions = Collections
+            .synchronizedMap(new LinkedHashMap<String, CompiledExpression>(MAX_CACHED_EXPRESSIONS, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledExpression> eldest) {
+                    return size() > MAX_CACHED_EXPRESSIONS;
+                }
+            });
+
+    public XPathTransformationService() {
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,34 +85,75 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            CompiledExpression compiledExpression = getCompiledExpression(xpathExpression);
 
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
-
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult = null;
+            SimpleXPathEvaluator simpleEvaluator = compiledExpression.simpleEvaluator;
+            if (simpleEvaluator != null) {
+                transformationResult = simpleEvaluator.evaluate(xmlInputFactory, source);
+            }
+            if (transformationResult == null) {
+                transformationResult = compiledExpression.evaluate(parse(source));
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        }
+    }
+
+    private CompiledExpression getCompiledExpression(String xpathExpression) {
+        CompiledExpression compiledExpression = compiledExpressions.get(xpathExpression);
+        if (compiledExpression == null) {
+            compiledExpression = new CompiledExpression(xpathExpression);
+            compiledExpressions.put(xpathExpression, compiledExpression);
+        }
+        return compiledExpression;
+    }
+
+    private Document parse(String source) throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder builder;
+        // DocumentBuilderFactory is not guaranteed to be thread safe
+        synchronized (domFactory) {
+            builder = domFactory.newDocumentBuilder();
+        }
+        try (StringReader stringReader = new StringReader(source)) {
+            InputSource inputSource = new InputSource(stringReader);
+            inputSource.setEncoding("UTF-8");
+            return builder.parse(inputSource);
+        }
+    }
+
+    /**
+     * Cached form of an expression. The XPathExpression is compiled only when needed, since simple expressions are
+     * usually evaluated without it.
+     */
+    private class CompiledExpression {
+
+        private final String expression;
+        private final @Nullable SimpleXPathEvaluator simpleEvaluator;
+        private @Nullable XPathExpression xpathExpression;
+
+        CompiledExpression(String expression) {
+            this.expression = expression;
+            this.simpleEvaluator = SimpleXPathEvaluator.compile(expression);
+        }
+
+        /**
+         * XPathExpression is not thread safe, evaluations of the same expression are serialized
+         */
+        synchronized String evaluate(Document document) throws XPathExpressionException {
+            XPathExpression xpathExpression = this.xpathExpression;
+            if (xpathExpression == null) {
+                synchronized (xpathFactory) {
+                    xpathExpression = xpathFactory.newXPath().compile(expression);
+                }
+                this.xpathExpression = xpathExpression;
             }
+            return (String) xpathExpression.evaluate(document, XPathConstants.STRING);
         }
     }
 
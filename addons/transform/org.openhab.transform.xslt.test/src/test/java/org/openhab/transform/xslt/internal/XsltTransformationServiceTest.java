@@ -41,4 +41,13 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformByCachedXSLT() throws TransformationException {
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+
+        processor.removeFromCache("google_weather.xsl");
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+    }
+
 }
@@ -15,9 +15,12 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -35,14 +38,24 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * Compiled stylesheets are cached, and removed from the cache by {@link XsltTransformationWatcher} when the file
+ * changes.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=XSLT" })
+@Component(immediate = true, service = { TransformationService.class,
+        XsltTransformationService.class }, property = { "smarthome.transform=XSLT" })
 public class XsltTransformationService implements TransformationService {
 
+    public static final String TRANSFORM_FOLDER = ConfigConstants.getConfigFolder() + File.separator
+            + TransformationService.TRANSFORM_FOLDER_NAME;
+
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<String, Templates> templatesCache = new ConcurrentHashMap<>();
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,20 +73,9 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Templates templates = getTemplates(filename);
 
-        try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
-            String message = "opening file '" + filename + "' throws exception";
-
-            logger.error("{}", message, e);
-            throw new TransformationException(message, e);
-        }
-
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, filename);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
@@ -81,7 +83,8 @@ public class XsltTransformationService implements TransformationService {
         Transformer transformer;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            // Templates are thread safe, transformers are not. Creating a transformer from compiled templates is cheap.
+            transformer = templates.newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -93,4 +96,42 @@ public class XsltTransformationService implements TransformationService {
         return out.toString();
     }
 
+    /**
+     * Get compiled stylesheet from cache. If it is not in the cache, it is read from the file and compiled.
+     *
+     * @param filename name of the file, relative to the transform folder
+     * @return compiled stylesheet
+     * @throws TransformationException if the stylesheet cannot be read or compiled
+     */
+    private Templates getTemplates(String filename) throws TransformationException {
+        Templates templates = templatesCache.get(filename);
+        if (templates != null) {
+            return templates;
+        }
+        String path = TRANSFORM_FOLDER + File.separator + filename;
+        logger.debug("Compiling stylesheet {}", path);
+        try {
+            // TransformerFactory is not guaranteed to be thread safe
+            synchronized (transformerFactory) {
+                templates = transformerFactory.newTemplates(new StreamSource(new File(path)));
+            }
+        } catch (TransformerConfigurationException e) {
+            String message = "compiling file '" + filename + "' throws exception";
+
+            logger.error("{}", message, e);
+            throw new TransformationException(message, e);
+        }
+        templatesCache.put(filename, templates);
+        return templates;
+    }
+
+    /**
+     * Remove compiled stylesheets of given file from the cache
+     *
+     * @param fileName name of the changed or removed file
+     */
+    protected void removeFromCache(String fileName) {
+        templatesCache.keySet().removeIf(key -> new File(key).getName().equals(fileName));
+    }
+
 }
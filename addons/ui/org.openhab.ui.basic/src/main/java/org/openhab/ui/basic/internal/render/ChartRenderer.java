@@ -13,8 +13,8 @@
 package org.openhab.ui.basic.internal.render;
 
 import java.util.Date;
+import java.util.Map;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -114,22 +114,21 @@ public class ChartRenderer extends AbstractWidgetRenderer {
                 ignoreRefresh = false;
             }
 
-            String snippet = getSnippet("chart");
-            snippet = preprocessSnippet(snippet, w);
+            Map<String, String> values = preprocessSnippet(w);
 
             if (chart.getRefresh() > 0) {
-                snippet = StringUtils.replace(snippet, "%update_interval%", Integer.toString(chart.getRefresh()));
+                values.put("update_interval", Integer.toString(chart.getRefresh()));
             } else {
-                snippet = StringUtils.replace(snippet, "%update_interval%", "0");
+                values.put("update_interval", "0");
             }
 
-            snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
-            snippet = StringUtils.replace(snippet, "%proxied_url%", chartUrl);
-            snippet = StringUtils.replace(snippet, "%valid_url%", "true");
-            snippet = StringUtils.replace(snippet, "%ignore_refresh%", ignoreRefresh ? "true" : "false");
-            snippet = StringUtils.replace(snippet, "%url%", url);
+            values.put("id", itemUIRegistry.getWidgetId(w));
+            values.put("proxied_url", chartUrl);
+            values.put("valid_url", "true");
+            values.put("ignore_refresh", ignoreRefresh ? "true" : "false");
+            values.put("url", url);
 
-            sb.append(snippet);
+            getSnippetTemplate("chart").render(values, sb);
         } catch (ItemNotFoundException e) {
             logger.warn("Chart cannot be rendered as item '{}' does not exist.", chart.getItem());
         }
@@ -12,7 +12,8 @@
  */
 package org.openhab.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.HSBType;
 import org.eclipse.smarthome.core.types.State;
@@ -67,7 +68,6 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
 
         String snippetName = "colorpicker";
 
-        String snippet = getSnippet(snippetName);
 
         // set the default send-update frequency to 200ms
         String frequency = cp.getFrequency() == 0 ? "200" : Integer.toString(cp.getFrequency());
@@ -82,30 +82,29 @@ public class ColorpickerRenderer extends AbstractWidgetRenderer {
         String purelabel = itemUIRegistry.getLabel(w);
         purelabel = purelabel.replaceAll("\\\"", "\\\\'");
 
-        // Should be called before preprocessSnippet
-        snippet = StringUtils.replace(snippet, "%state%", hexValue);
-        snippet = StringUtils.replace(snippet, "%icon_state%", escapeURL(hexValue));
-
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%purelabel%", purelabel);
-        snippet = StringUtils.replace(snippet, "%frequency%", frequency);
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
+        Map<String, String> values = preprocessSnippet(w);
+        // Overrides the value of preprocessSnippet
+        values.put("state", hexValue);
+        values.put("icon_state", escapeURL(hexValue));
+        values.put("purelabel", purelabel);
+        values.put("frequency", frequency);
+        values.put("servletname", WebAppServlet.SERVLET_NAME);
 
         String style = "";
         String color = itemUIRegistry.getLabelColor(w);
         if (color != null) {
             style = "color:" + color;
         }
-        snippet = StringUtils.replace(snippet, "%labelstyle%", style);
+        values.put("labelstyle", style);
 
         style = "";
         color = itemUIRegistry.getValueColor(w);
         if (color != null) {
             style = "color:" + color;
         }
-        snippet = StringUtils.replace(snippet, "%valuestyle%", style);
+        values.put("valuestyle", style);
 
-        sb.append(snippet);
+        getSnippetTemplate(snippetName).render(values, sb);
         return null;
     }
 
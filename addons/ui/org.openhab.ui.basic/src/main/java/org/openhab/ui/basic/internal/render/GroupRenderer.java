@@ -12,7 +12,8 @@
  */
 package org.openhab.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Group;
 import org.eclipse.smarthome.model.sitemap.Widget;
@@ -55,15 +56,13 @@ public class GroupRenderer extends AbstractWidgetRenderer {
 
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("group");
-
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
+        Map<String, String> values = preprocessSnippet(w);
+        values.put("id", itemUIRegistry.getWidgetId(w));
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        getSnippetTemplate("group").render(values, sb);
         return null;
     }
 
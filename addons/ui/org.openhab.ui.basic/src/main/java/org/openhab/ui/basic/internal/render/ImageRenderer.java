@@ -13,8 +13,8 @@
 package org.openhab.ui.basic.internal.render;
 
 import java.util.Date;
+import java.util.Map;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -63,17 +63,18 @@ public class ImageRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Image image = (Image) w;
-        String snippet = (image.getChildren().size() > 0) ? getSnippet("image_link") : getSnippet("image");
+        SnippetTemplate template = (image.getChildren().size() > 0) ? getSnippetTemplate("image_link")
+                : getSnippetTemplate("image");
 
+        Map<String, String> values = preprocessSnippet(w);
         if (image.getRefresh() > 0) {
-            snippet = StringUtils.replace(snippet, "%update_interval%", Integer.toString(image.getRefresh()));
+            values.put("update_interval", Integer.toString(image.getRefresh()));
         } else {
-            snippet = StringUtils.replace(snippet, "%update_interval%", "0");
+            values.put("update_interval", "0");
         }
 
         String widgetId = itemUIRegistry.getWidgetId(w);
-        snippet = StringUtils.replace(snippet, "%id%", widgetId);
-        snippet = preprocessSnippet(snippet, w);
+        values.put("id", widgetId);
 
         String sitemap = null;
         if (w.eResource() != null) {
@@ -97,12 +98,12 @@ public class ImageRenderer extends AbstractWidgetRenderer {
             url = URL_NONE_ICON;
             ignoreRefresh = true;
         }
-        snippet = StringUtils.replace(snippet, "%valid_url%", validUrl ? "true" : "false");
-        snippet = StringUtils.replace(snippet, "%proxied_url%", proxiedUrl);
-        snippet = StringUtils.replace(snippet, "%ignore_refresh%", ignoreRefresh ? "true" : "false");
-        snippet = StringUtils.replace(snippet, "%url%", url);
+        values.put("valid_url", validUrl ? "true" : "false");
+        values.put("proxied_url", proxiedUrl);
+        values.put("ignore_refresh", ignoreRefresh ? "true" : "false");
+        values.put("url", url);
 
-        sb.append(snippet);
+        template.render(values, sb);
         return null;
     }
 
@@ -12,7 +12,9 @@
  */
 package org.openhab.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.List;
 import org.eclipse.smarthome.model.sitemap.Widget;
@@ -55,22 +57,24 @@ public class ListRenderer extends AbstractWidgetRenderer {
 
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("list");
-        snippet = snippet.replaceAll("%label%", getLabel(w));
+        Map<String, String> values = new HashMap<>();
+        values.put("label", getLabel(w));
 
-        String rowSnippet = getSnippet("list_row");
+        SnippetTemplate rowTemplate = getSnippetTemplate("list_row");
+        Map<String, String> rowValues = new HashMap<>();
         String state = itemUIRegistry.getState(w).toString();
         String[] rowContents = state.split(((List) w).getSeparator());
         StringBuilder rowSB = new StringBuilder();
         for (String row : rowContents) {
-            rowSB.append(StringUtils.replace(rowSnippet, "%title%", escapeHtml(row)));
+            rowValues.put("title", escapeHtml(row));
+            rowTemplate.render(rowValues, rowSB);
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
+        values.put("rows", rowSB.toString());
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        getSnippetTemplate("list").render(values, sb);
         return null;
     }
 
@@ -12,19 +12,27 @@
  */
 package org.openhab.ui.basic.internal.render;
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.smarthome.core.i18n.LocaleProvider;
 import org.eclipse.smarthome.core.i18n.TranslationProvider;
+import org.eclipse.smarthome.model.sitemap.Chart;
+import org.eclipse.smarthome.model.sitemap.ColorArray;
 import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.Image;
 import org.eclipse.smarthome.model.sitemap.Sitemap;
 import org.eclipse.smarthome.model.sitemap.SitemapProvider;
+import org.eclipse.smarthome.model.sitemap.Video;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
 import org.eclipse.smarthome.model.sitemap.Widget;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
 import org.openhab.ui.basic.internal.WebAppConfig;
@@ -55,9 +63,11 @@ import org.slf4j.LoggerFactory;
 @Component(service = { PageRenderer.class })
 public class PageRenderer extends AbstractWidgetRenderer {
 
+    private static final String CHILDREN = "%children%";
+
     private final Logger logger = LoggerFactory.getLogger(PageRenderer.class);
 
-    List<WidgetRenderer> widgetRenderers = new ArrayList<WidgetRenderer>();
+    List<WidgetRenderer> widgetRenderers = new CopyOnWriteArrayList<>();
 
     @Override
     @Activate
@@ -94,10 +104,10 @@ public class PageRenderer extends AbstractWidgetRenderer {
      */
     public StringBuilder processPage(String id, String sitemap, String label, EList<Widget> children, boolean async)
             throws RenderException {
-        String snippet = getSnippet(async ? "layer" : "main");
-        snippet = snippet.replaceAll("%main.offline-msg%", localizeText("@text/main.offline-msg"));
-        snippet = snippet.replaceAll("%main.long-polling-mode-msg%", localizeText("@text/main.long-polling-mode-msg"));
-        snippet = snippet.replaceAll("%id%", id);
+        Map<String, String> values = new HashMap<>();
+        values.put("main.offline-msg", localizeText("@text/main.offline-msg"));
+        values.put("main.long-polling-mode-msg", localizeText("@text/main.long-polling-mode-msg"));
+        values.put("id", id);
 
         // if the label contains a value span, we remove this span as
         // the title of a page/layer cannot deal with this
@@ -108,83 +118,183 @@ public class PageRenderer extends AbstractWidgetRenderer {
         if (labelPlain.contains("[") && labelPlain.endsWith("]")) {
             labelPlain = labelPlain.replace("[", "").replace("]", "");
         }
-        snippet = StringUtils.replace(snippet, "%label%", escapeHtml(labelPlain));
-        snippet = StringUtils.replace(snippet, "%servletname%", WebAppServlet.SERVLET_NAME);
-        snippet = StringUtils.replace(snippet, "%sitemap%", sitemap);
-        snippet = StringUtils.replace(snippet, "%htmlclass%", config.getCssClassList());
-        snippet = StringUtils.replace(snippet, "%icon_type%", config.getIconType());
-        snippet = StringUtils.replace(snippet, "%theme%", config.getTheme());
-
-        String[] parts = snippet.split("%children%");
-
-        StringBuilder preChildren = new StringBuilder(parts[0]);
-        StringBuilder postChildren = new StringBuilder(parts[1]);
+        values.put("label", escapeHtml(labelPlain));
+        values.put("servletname", WebAppServlet.SERVLET_NAME);
+        values.put("sitemap", sitemap);
+        values.put("htmlclass", config.getCssClassList());
+        values.put("icon_type", config.getIconType());
+        values.put("theme", config.getTheme());
+
+        String snippet = getSnippetTemplate(async ? "layer" : "main").render(values);
+        int childrenIndex = snippet.indexOf(CHILDREN);
+        if (childrenIndex == -1) {
+            throw new RenderException("Snippet '" + (async ? "layer" : "main") + "' contains no %children% section");
+        }
 
-        if (parts.length == 2) {
-            processChildren(preChildren, postChildren, children);
-        } else if (parts.length > 2) {
+        // the whole page is rendered into one string builder in document order, so that the html code of the
+        // widgets is not copied over and over again when their parents are assembled
+        StringBuilder sb = new StringBuilder(snippet.length() + 512 * children.size());
+        sb.append(snippet, 0, childrenIndex);
+        processChildren(sb, children);
+        if (snippet.indexOf(CHILDREN, childrenIndex + CHILDREN.length()) != -1) {
             logger.error("Snippet '{}' contains multiple %children% sections, but only one is allowed!",
                     async ? "layer" : "main");
         }
-        return preChildren.append(postChildren);
+        appendAfterChildren(sb, snippet, childrenIndex);
+        return sb;
     }
 
-    private void processChildren(StringBuilder sb_pre, StringBuilder sb_post, EList<Widget> children)
-            throws RenderException {
+    /**
+     * Checks whether the html code of a page can be cached until the next state change, i.e. it contains no widget
+     * whose html code changes without a state change, such as the time stamped urls of charts and images.
+     *
+     * @param children the widgets that appear on the page
+     * @return true, if the html code of the page can be cached
+     */
+    public boolean isCacheable(EList<Widget> children) {
+        for (Widget w : children) {
+            if (w instanceof Chart || w instanceof Image || w instanceof Video) {
+                return false;
+            }
+            if (w instanceof Frame && !isCacheable(itemUIRegistry.getChildren((Frame) w))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the names of the items whose states are shown on a page or control the visibility or the colors of its
+     * widgets, so that a cached page can be invalidated if one of them changes.
+     *
+     * @param children the widgets that appear on the page
+     * @return the names of the items the html code of the page depends on
+     */
+    public Set<String> getItemNames(EList<Widget> children) {
+        Set<String> itemNames = new HashSet<>();
+        addItemNames(itemNames, children);
+        return itemNames;
+    }
+
+    /**
+     * Collects the names of the items a subpage depends on. Besides its widgets, the title of a subpage is the label of
+     * the widget linking to it, which may show the state of that widget's item.
+     *
+     * @param parent the widget linking to the subpage
+     * @param children the widgets that appear on the subpage
+     * @return the names of the items the html code of the subpage depends on
+     */
+    public Set<String> getItemNames(Widget parent, EList<Widget> children) {
+        Set<String> itemNames = getItemNames(children);
+        addItemNames(itemNames, parent);
+        return itemNames;
+    }
+
+    private void addItemNames(Set<String> itemNames, EList<Widget> children) {
+        for (Widget w : children) {
+            addItemNames(itemNames, w);
+            if (w instanceof Frame) {
+                addItemNames(itemNames, itemUIRegistry.getChildren((Frame) w));
+            }
+        }
+    }
+
+    private void addItemNames(Set<String> itemNames, Widget w) {
+        addItemName(itemNames, w.getItem());
+        for (VisibilityRule rule : w.getVisibility()) {
+            addItemName(itemNames, rule.getItem());
+        }
+        for (ColorArray rule : w.getLabelColor()) {
+            addItemName(itemNames, rule.getItem());
+        }
+        for (ColorArray rule : w.getValueColor()) {
+            addItemName(itemNames, rule.getItem());
+        }
+    }
+
+    private void addItemName(Set<String> itemNames, String itemName) {
+        if (itemName != null) {
+            itemNames.add(itemName);
+        }
+    }
+
+    /**
+     * Returns the locale the pages are localized with
+     *
+     * @return the locale of the system
+     */
+    public Locale getLocale() {
+        return localeProvider.getLocale();
+    }
+
+    private void processChildren(StringBuilder sb, EList<Widget> children) throws RenderException {
         // put a single frame around all children widgets, if there are no explicit frames
+        String frameSnippet = null;
+        int frameChildrenIndex = -1;
         if (!children.isEmpty()) {
             EObject firstChild = children.get(0);
             EObject parent = itemUIRegistry.getParent((Widget) firstChild);
             if (!(firstChild instanceof Frame || parent instanceof Frame || parent instanceof Sitemap
                     || parent instanceof org.eclipse.smarthome.model.sitemap.List)) {
-                String frameSnippet = getSnippet("frame");
-                frameSnippet = StringUtils.replace(frameSnippet, "%widget_id%", "");
-                frameSnippet = StringUtils.replace(frameSnippet, "%label%", "");
-                frameSnippet = StringUtils.replace(frameSnippet, "%frame_class%", "mdl-form--no-label");
-
-                String[] parts = frameSnippet.split("%children%");
-                if (parts.length > 1) {
-                    sb_pre.append(parts[0]);
-                    sb_post.insert(0, parts[1]);
-                }
-                if (parts.length > 2) {
-                    logger.error("Snippet 'frame' contains multiple %children% sections, but only one is allowed!");
+                Map<String, String> values = new HashMap<>();
+                values.put("widget_id", "");
+                values.put("label", "");
+                values.put("frame_class", "mdl-form--no-label");
+                frameSnippet = getSnippetTemplate("frame").render(values);
+
+                frameChildrenIndex = frameSnippet.indexOf(CHILDREN);
+                if (frameChildrenIndex != -1) {
+                    sb.append(frameSnippet, 0, frameChildrenIndex);
+                    if (frameSnippet.indexOf(CHILDREN, frameChildrenIndex + CHILDREN.length()) != -1) {
+                        logger.error(
+                                "Snippet 'frame' contains multiple %children% sections, but only one is allowed!");
+                    }
                 }
             }
         }
 
+        StringBuilder widgetSB = new StringBuilder();
         for (Widget w : children) {
-            StringBuilder newPre = new StringBuilder();
-            StringBuilder newPost = new StringBuilder();
-            StringBuilder widgetSB = new StringBuilder();
+            widgetSB.setLength(0);
             EList<Widget> nextChildren = renderWidget(w, widgetSB);
             if (nextChildren != null) {
-                String[] parts = widgetSB.toString().split("%children%");
-                // no %children% placeholder found or at the end
-                if (parts.length == 1) {
-                    newPre.append(widgetSB);
-                }
-                // %children% section found
-                if (parts.length > 1) {
-                    newPre.append(parts[0]);
-                    newPost.insert(0, parts[1]);
+                String widget = widgetSB.toString();
+                int childrenIndex = widget.indexOf(CHILDREN);
+                // no %children% placeholder found
+                if (childrenIndex == -1) {
+                    sb.append(widget);
+                    processChildren(sb, nextChildren);
+                    continue;
                 }
                 // multiple %children% sections found -> log an error and ignore all code starting from the second
                 // occurance
-                if (parts.length > 2) {
+                if (widget.indexOf(CHILDREN, childrenIndex + CHILDREN.length()) != -1) {
                     String widgetType = w.eClass().getInstanceTypeName()
                             .substring(w.eClass().getInstanceTypeName().lastIndexOf(".") + 1);
                     logger.error(
                             "Snippet for widget '{}' contains multiple %children% sections, but only one is allowed!",
                             widgetType);
                 }
-                processChildren(newPre, newPost, nextChildren);
-                sb_pre.append(newPre);
-                sb_pre.append(newPost);
+                sb.append(widget, 0, childrenIndex);
+                processChildren(sb, nextChildren);
+                appendAfterChildren(sb, widget, childrenIndex);
             } else {
-                sb_pre.append(widgetSB);
+                sb.append(widgetSB);
             }
         }
+
+        if (frameChildrenIndex != -1) {
+            appendAfterChildren(sb, frameSnippet, frameChildrenIndex);
+        }
+    }
+
+    /**
+     * Appends the part of a snippet after its %children% section, up to a second (invalid) %children% section
+     */
+    private void appendAfterChildren(StringBuilder sb, String snippet, int childrenIndex) {
+        int start = childrenIndex + CHILDREN.length();
+        int end = snippet.indexOf(CHILDREN, start);
+        sb.append(snippet, start, end != -1 ? end : snippet.length());
     }
 
     @Override
@@ -222,34 +332,31 @@ public class PageRenderer extends AbstractWidgetRenderer {
             }
         }
 
-        String pageSnippet = getSnippet("main_static");
-        String listSnippet = getSnippet("sitemaps_list");
-        String sitemapSnippet = getSnippet("sitemaps_list_item");
-
         StringBuilder sb = new StringBuilder();
         if (sitemapList.isEmpty()) {
-            String listEmptySnippet = getSnippet("sitemaps_list_empty");
-            listEmptySnippet = StringUtils.replace(listEmptySnippet, "%sitemaps-list-empty.info%",
-                    localizeText("@text/sitemaps-list-empty.info"));
-            sb.append(listEmptySnippet);
+            Map<String, String> values = new HashMap<>();
+            values.put("sitemaps-list-empty.info", localizeText("@text/sitemaps-list-empty.info"));
+            getSnippetTemplate("sitemaps_list_empty").render(values, sb);
         } else {
+            SnippetTemplate sitemapTemplate = getSnippetTemplate("sitemaps_list_item");
+            Map<String, String> values = new HashMap<>();
             for (String sitemap : sitemapList) {
-                sb.append(StringUtils.replace(sitemapSnippet, "%sitemap%", sitemap));
+                values.put("sitemap", sitemap);
+                sitemapTemplate.render(values, sb);
             }
         }
 
-        listSnippet = StringUtils.replace(listSnippet, "%sitemaps-list.welcome%",
-                localizeText("@text/sitemaps-list.welcome"));
-        listSnippet = StringUtils.replace(listSnippet, "%sitemaps-list.available-sitemaps%",
-                localizeText("@text/sitemaps-list.available-sitemaps"));
-        listSnippet = StringUtils.replace(listSnippet, "%items%", sb.toString());
+        Map<String, String> listValues = new HashMap<>();
+        listValues.put("sitemaps-list.welcome", localizeText("@text/sitemaps-list.welcome"));
+        listValues.put("sitemaps-list.available-sitemaps", localizeText("@text/sitemaps-list.available-sitemaps"));
+        listValues.put("items", sb.toString());
 
-        pageSnippet = StringUtils.replace(pageSnippet, "%title%", "BasicUI");
-        pageSnippet = StringUtils.replace(pageSnippet, "%htmlclass%",
-                config.getCssClassList() + " page-welcome-sitemaps");
-        pageSnippet = StringUtils.replace(pageSnippet, "%content%", listSnippet);
+        Map<String, String> pageValues = new HashMap<>();
+        pageValues.put("title", "BasicUI");
+        pageValues.put("htmlclass", config.getCssClassList() + " page-welcome-sitemaps");
+        pageValues.put("content", getSnippetTemplate("sitemaps_list").render(listValues));
 
-        return pageSnippet;
+        return getSnippetTemplate("main_static").render(pageValues);
     }
 
     @Override
@@ -12,6 +12,9 @@
  */
 package org.openhab.ui.basic.internal.render;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
@@ -71,9 +74,7 @@ public class SelectionRenderer extends AbstractWidgetRenderer {
 
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
-        String snippet = getSnippet("selection");
-
-        snippet = preprocessSnippet(snippet, w);
+        Map<String, String> values = preprocessSnippet(w);
 
         State state = itemUIRegistry.getState(w);
         Selection selection = (Selection) w;
@@ -109,22 +110,22 @@ public class SelectionRenderer extends AbstractWidgetRenderer {
                 }
             }
         }
-        snippet = StringUtils.replace(snippet, "%rows%", rowSB.toString());
-        snippet = StringUtils.replace(snippet, "%value_map%", StringEscapeUtils.escapeHtml(jsonObject.toString()));
-        snippet = StringUtils.replace(snippet, "%label_header%", getLabel(w));
-        snippet = StringUtils.replace(snippet, "%value_header%", mappingLabel != null ? mappingLabel : "");
+        values.put("rows", rowSB.toString());
+        values.put("value_map", StringEscapeUtils.escapeHtml(jsonObject.toString()));
+        values.put("label_header", getLabel(w));
+        values.put("value_header", mappingLabel != null ? mappingLabel : "");
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        getSnippetTemplate("selection").render(values, sb);
         return null;
     }
 
     private String buildRow(Selection w, String lab, String cmd, Item item, State state, StringBuilder rowSB)
             throws RenderException {
         String mappingLabel = null;
-        String rowSnippet = getSnippet("selection_row");
+        Map<String, String> rowValues = new HashMap<>();
 
         String command = cmd != null ? cmd : "";
         String label = lab;
@@ -135,9 +136,9 @@ public class SelectionRenderer extends AbstractWidgetRenderer {
             label = StringUtils.replace(label, UnitUtils.UNIT_PLACEHOLDER, unit);
         }
 
-        rowSnippet = StringUtils.replace(rowSnippet, "%item%", w.getItem() != null ? w.getItem() : "");
-        rowSnippet = StringUtils.replace(rowSnippet, "%cmd%", escapeHtml(command));
-        rowSnippet = StringUtils.replace(rowSnippet, "%label%", label != null ? escapeHtml(label) : "");
+        rowValues.put("item", w.getItem() != null ? w.getItem() : "");
+        rowValues.put("cmd", escapeHtml(command));
+        rowValues.put("label", label != null ? escapeHtml(label) : "");
 
         State compareMappingState = state;
         if (state instanceof QuantityType) { // convert the item state to the command value for proper
@@ -147,12 +148,12 @@ public class SelectionRenderer extends AbstractWidgetRenderer {
 
         if (compareMappingState.toString().equals(command)) {
             mappingLabel = label;
-            rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "checked=\"true\"");
+            rowValues.put("checked", "checked=\"true\"");
         } else {
-            rowSnippet = StringUtils.replace(rowSnippet, "%checked%", "");
+            rowValues.put("checked", "");
         }
 
-        rowSB.append(rowSnippet);
+        getSnippetTemplate("selection_row").render(rowValues, rowSB);
 
         return mappingLabel;
     }
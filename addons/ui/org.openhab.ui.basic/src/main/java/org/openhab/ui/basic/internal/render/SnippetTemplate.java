@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.basic.internal.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A html snippet compiled into its literal parts and the placeholders (e.g. "%label%") between them, so that it can
+ * be rendered in a single pass instead of searching and replacing every placeholder in the whole snippet.
+ *
+ * Placeholders without a value are rendered unchanged, e.g. "%children%" which is processed by the
+ * {@link PageRenderer} once the widget has been rendered.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public final class SnippetTemplate {
+
+    private final String snippet;
+
+    /* the literal parts; the placeholders are between them, so there is one more literal than placeholders */
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private SnippetTemplate(String snippet, String[] literals, String[] placeholders) {
+        this.snippet = snippet;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Compiles a snippet. Placeholders are names enclosed in '%', which consist of letters, digits and the characters
+     * '_', '.' and '-'. Any other '%' is kept as literal text.
+     *
+     * @param snippet the html snippet
+     * @return the compiled template
+     */
+    public static SnippetTemplate compile(String snippet) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int start = snippet.indexOf('%');
+        while (start != -1) {
+            int end = snippet.indexOf('%', start + 1);
+            if (end == -1) {
+                break;
+            }
+            String name = snippet.substring(start + 1, end);
+            if (isPlaceholderName(name)) {
+                literals.add(snippet.substring(literalStart, start));
+                placeholders.add(name);
+                literalStart = end + 1;
+                start = snippet.indexOf('%', literalStart);
+            } else {
+                // the closing '%' may open the next placeholder
+                start = end;
+            }
+        }
+        literals.add(snippet.substring(literalStart));
+        return new SnippetTemplate(snippet, literals.toArray(new String[literals.size()]),
+                placeholders.toArray(new String[placeholders.size()]));
+    }
+
+    private static boolean isPlaceholderName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders the template by appending the literal parts and the values of the placeholders
+     *
+     * @param values the values by placeholder name (without the enclosing '%')
+     * @param sb the string builder to append the html code to
+     */
+    public void render(Map<String, String> values, StringBuilder sb) {
+        for (int i = 0; i < placeholders.length; i++) {
+            sb.append(literals[i]);
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                sb.append(value);
+            } else {
+                sb.append('%').append(placeholders[i]).append('%');
+            }
+        }
+        sb.append(literals[placeholders.length]);
+    }
+
+    /**
+     * Renders the template into a string
+     *
+     * @param values the values by placeholder name (without the enclosing '%')
+     * @return the html code
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder sb = new StringBuilder(snippet.length() + 64);
+        render(values, sb);
+        return sb.toString();
+    }
+}
@@ -12,7 +12,8 @@
  */
 package org.openhab.ui.basic.internal.render;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.model.sitemap.Text;
 import org.eclipse.smarthome.model.sitemap.Widget;
@@ -56,15 +57,16 @@ public class TextRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Text text = (Text) w;
-        String snippet = (text.getChildren().size() > 0) ? getSnippet("text_link") : getSnippet("text");
+        SnippetTemplate template = (text.getChildren().size() > 0) ? getSnippetTemplate("text_link")
+                : getSnippetTemplate("text");
 
-        snippet = preprocessSnippet(snippet, w);
-        snippet = StringUtils.replace(snippet, "%id%", itemUIRegistry.getWidgetId(w));
+        Map<String, String> values = preprocessSnippet(w);
+        values.put("id", itemUIRegistry.getWidgetId(w));
 
         // Process the color tags
-        snippet = processColor(w, snippet);
+        processColor(w, values);
 
-        sb.append(snippet);
+        template.render(values, sb);
         return null;
     }
 
@@ -13,8 +13,8 @@
 package org.openhab.ui.basic.internal.render;
 
 import java.util.Date;
+import java.util.Map;
 
-import org.apache.commons.lang.StringUtils;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.types.State;
@@ -61,7 +61,6 @@ public class VideoRenderer extends AbstractWidgetRenderer {
     @Override
     public EList<Widget> renderWidget(Widget w, StringBuilder sb) throws RenderException {
         Video videoWidget = (Video) w;
-        String snippet = null;
 
         String widgetId = itemUIRegistry.getWidgetId(w);
         String sitemap = w.eResource().getURI().path();
@@ -70,8 +69,7 @@ public class VideoRenderer extends AbstractWidgetRenderer {
         String snippetName = (videoWidget.getEncoding() != null
                 && videoWidget.getEncoding().toLowerCase().contains("mjpeg")) ? "image" : "video";
 
-        snippet = getSnippet(snippetName);
-        snippet = preprocessSnippet(snippet, w);
+        Map<String, String> values = preprocessSnippet(w);
 
         State state = itemUIRegistry.getState(w);
         String url;
@@ -85,11 +83,11 @@ public class VideoRenderer extends AbstractWidgetRenderer {
             } else {
                 url = URL_NONE_ICON;
             }
-            snippet = StringUtils.replace(snippet, "%valid_url%", validUrl ? "true" : "false");
-            snippet = StringUtils.replace(snippet, "%proxied_url%", proxiedUrl);
-            snippet = StringUtils.replace(snippet, "%update_interval%", "0");
-            snippet = StringUtils.replace(snippet, "%ignore_refresh%", "true");
-            snippet = StringUtils.replace(snippet, "%url%", url);
+            values.put("valid_url", validUrl ? "true" : "false");
+            values.put("proxied_url", proxiedUrl);
+            values.put("update_interval", "0");
+            values.put("ignore_refresh", "true");
+            values.put("url", url);
         } else {
             String mediaType;
             if (videoWidget.getEncoding() != null && videoWidget.getEncoding().toLowerCase().contains("hls")) {
@@ -100,11 +98,11 @@ public class VideoRenderer extends AbstractWidgetRenderer {
                 url = "../proxy?sitemap=" + sitemap + "&widgetId=" + widgetId;
                 mediaType = "";
             }
-            snippet = StringUtils.replace(snippet, "%url%", url);
-            snippet = StringUtils.replace(snippet, "%media_type%", mediaType);
+            values.put("url", url);
+            values.put("media_type", mediaType);
         }
 
-        sb.append(snippet);
+        getSnippetTemplate(snippetName).render(values, sb);
         return null;
     }
 
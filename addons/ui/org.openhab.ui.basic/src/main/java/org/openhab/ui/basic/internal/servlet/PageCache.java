@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.basic.internal.servlet;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.items.events.GroupItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemAddedEvent;
+import org.eclipse.smarthome.core.items.events.ItemRemovedEvent;
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
+import org.eclipse.smarthome.core.items.events.ItemUpdatedEvent;
+import org.eclipse.smarthome.model.sitemap.Sitemap;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Cache for the rendered pages of the Basic UI.
+ *
+ * The html code of a page only changes if the state of an item shown on it changes, an item is added, removed or
+ * updated, or the sitemap is reloaded. A state change only invalidates the pages showing the item, all other events
+ * invalidate all cached pages. Every event starts a new generation, so that a page rendered while an event has been
+ * received is not cached.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@Component(service = { PageCache.class, EventSubscriber.class })
+public class PageCache implements EventSubscriber {
+
+    private static final Set<String> SUBSCRIBED_EVENT_TYPES = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList(ItemStateChangedEvent.TYPE, GroupItemStateChangedEvent.TYPE,
+                    ItemAddedEvent.TYPE, ItemRemovedEvent.TYPE, ItemUpdatedEvent.TYPE)));
+
+    /* upper limit for the number of cached pages, the cache is cleared when it is reached */
+    private static final int MAX_PAGES = 256;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+    /* guards the check of the generation when a page is cached against the invalidation of pages */
+    private final Object lock = new Object();
+
+    /**
+     * A rendered page
+     */
+    public static class Page {
+
+        private final Sitemap sitemap;
+        private final long generation;
+        private final String content;
+        private final String etag;
+        private final Set<String> itemNames;
+
+        private Page(Sitemap sitemap, long generation, String content, String etag, Set<String> itemNames) {
+            this.sitemap = sitemap;
+            this.generation = generation;
+            this.content = content;
+            this.etag = etag;
+            this.itemNames = itemNames;
+        }
+
+        /**
+         * Returns the html code of the page
+         */
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * Returns the entity tag of the page, which is derived from its html code
+         */
+        public String getETag() {
+            return etag;
+        }
+    }
+
+    /**
+     * Returns the current generation, which has to be passed to {@link #createPage(Sitemap, long, String, Set)} for
+     * the page rendered afterwards.
+     *
+     * @return the current generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns a cached page, if nothing shown on it has changed since it has been rendered
+     *
+     * @param key the key of the page
+     * @param sitemap the sitemap the page belongs to
+     * @return the page, or null if the page has not been cached or has changed
+     */
+    public Page get(String key, Sitemap sitemap) {
+        Page page = pages.get(key);
+        if (page != null && page.sitemap == sitemap) {
+            return page;
+        }
+        return null;
+    }
+
+    /**
+     * Creates a page from its html code without caching it
+     *
+     * @param sitemap the sitemap the page belongs to
+     * @param generation the generation at the time the rendering has been started
+     * @param content the html code of the page
+     * @param itemNames the names of the items whose states are shown on the page
+     * @return the page
+     */
+    public Page createPage(Sitemap sitemap, long generation, String content, Set<String> itemNames) {
+        return new Page(sitemap, generation, content, createETag(content), itemNames);
+    }
+
+    /**
+     * Caches a page, unless something has changed since the rendering of the page has been started
+     *
+     * @param key the key of the page
+     * @param page the page to cache
+     */
+    public void put(String key, Page page) {
+        synchronized (lock) {
+            if (page.generation == generation.get()) {
+                if (pages.size() >= MAX_PAGES) {
+                    pages.clear();
+                }
+                pages.put(key, page);
+            }
+        }
+    }
+
+    /**
+     * Invalidates all cached pages
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            pages.clear();
+        }
+    }
+
+    /**
+     * Invalidates the cached pages showing an item
+     *
+     * @param itemName the name of the item whose state has changed
+     */
+    public void invalidate(String itemName) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            pages.values().removeIf(page -> page.itemNames.contains(itemName));
+        }
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return SUBSCRIBED_EVENT_TYPES;
+    }
+
+    @Override
+    public EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof ItemStateChangedEvent) {
+            invalidate(((ItemStateChangedEvent) event).getItemName());
+        } else {
+            invalidate();
+        }
+    }
+
+    private static String createETag(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder etag = new StringBuilder(2 + 2 * digest.length).append('"');
+            for (byte b : digest) {
+                etag.append(HEX_DIGITS[(b >> 4) & 0x0f]).append(HEX_DIGITS[b & 0x0f]);
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            // MD5 is available on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
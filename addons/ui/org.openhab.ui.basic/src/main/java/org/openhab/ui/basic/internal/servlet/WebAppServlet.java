@@ -78,6 +78,7 @@ public class WebAppServlet extends BaseServlet {
     private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
 
     private PageRenderer renderer;
+    private PageCache pageCache;
     private SitemapSubscriptionService subscriptions;
     private final WebAppConfig config = new WebAppConfig();
     protected Set<SitemapProvider> sitemapProviders = new CopyOnWriteArraySet<>();
@@ -110,6 +111,15 @@ public class WebAppServlet extends BaseServlet {
         this.renderer = null;
     }
 
+    @Reference
+    public void setPageCache(PageCache pageCache) {
+        this.pageCache = pageCache;
+    }
+
+    public void unsetPageCache(PageCache pageCache) {
+        this.pageCache = null;
+    }
+
     @Activate
     protected void activate(Map<String, Object> configProps, BundleContext bundleContext) {
         HttpContext httpContext = createHttpContext(bundleContext.getBundle());
@@ -127,6 +137,8 @@ public class WebAppServlet extends BaseServlet {
     @Modified
     protected void modified(Map<String, Object> configProps) {
         config.applyConfig(configProps);
+        // the rendered pages depend on the configuration
+        pageCache.invalidate();
     }
 
     @Deactivate
@@ -158,7 +170,8 @@ public class WebAppServlet extends BaseServlet {
             sitemapName = config.getDefaultSitemap();
         }
 
-        StringBuilder result = new StringBuilder();
+        String result = "";
+        String etag = null;
         Sitemap sitemap = null;
 
         for (SitemapProvider sitemapProvider : sitemapProviders) {
@@ -184,9 +197,18 @@ public class WebAppServlet extends BaseServlet {
                         logger.debug("Basic UI requested a non-existing event subscription id ({})", subscriptionId);
                     }
                 }
-                String label = sitemap.getLabel() != null ? sitemap.getLabel() : sitemapName;
-                EList<Widget> children = renderer.getItemUIRegistry().getChildren(sitemap);
-                result.append(renderer.processPage(sitemapName, sitemapName, label, children, async));
+                String key = getPageKey(sitemapName, sitemapName, async, req);
+                PageCache.Page page = pageCache.get(key, sitemap);
+                if (page == null) {
+                    long generation = pageCache.getGeneration();
+                    String label = sitemap.getLabel() != null ? sitemap.getLabel() : sitemapName;
+                    EList<Widget> children = renderer.getItemUIRegistry().getChildren(sitemap);
+                    String content = renderer.processPage(sitemapName, sitemapName, label, children, async)
+                            .toString();
+                    page = cachePage(key, sitemap, generation, children, renderer.getItemNames(children), content);
+                }
+                result = page.getContent();
+                etag = page.getETag();
             } else if (!widgetId.equals("Colorpicker")) {
                 // we are on some subpage, so we have to render the children of the widget that has been selected
                 if (subscriptionId != null) {
@@ -196,8 +218,14 @@ public class WebAppServlet extends BaseServlet {
                         logger.debug("Basic UI requested a non-existing event subscription id ({})", subscriptionId);
                     }
                 }
-                Widget w = renderer.getItemUIRegistry().getWidget(sitemap, widgetId);
-                if (w != null) {
+                String key = getPageKey(sitemapName, widgetId, async, req);
+                PageCache.Page page = pageCache.get(key, sitemap);
+                Widget w = page == null ? renderer.getItemUIRegistry().getWidget(sitemap, widgetId) : null;
+                if (page != null) {
+                    result = page.getContent();
+                    etag = page.getETag();
+                } else if (w != null) {
+                    long generation = pageCache.getGeneration();
                     String label = renderer.getItemUIRegistry().getLabel(w);
                     if (label == null) {
                         label = "undefined";
@@ -206,8 +234,13 @@ public class WebAppServlet extends BaseServlet {
                         throw new RenderException("Widget '" + w + "' can not have any content");
                     }
                     EList<Widget> children = renderer.getItemUIRegistry().getChildren((LinkableWidget) w);
-                    result.append(renderer.processPage(renderer.getItemUIRegistry().getWidgetId(w), sitemapName, label,
-                            children, async));
+                    String content = renderer.processPage(renderer.getItemUIRegistry().getWidgetId(w), sitemapName,
+                            label, children, async).toString();
+                    // the title of the subpage is the label of the linking widget
+                    page = cachePage(key, sitemap, generation, children, renderer.getItemNames(w, children),
+                            content);
+                    result = page.getContent();
+                    etag = page.getETag();
                 }
             }
         } catch (RenderException e) {
@@ -218,10 +251,36 @@ public class WebAppServlet extends BaseServlet {
         } else {
             res.setContentType(CONTENT_TYPE);
         }
+        if (etag != null) {
+            // the page has to be revalidated on every request, but is only transferred again if it has changed
+            res.setHeader("Cache-Control", "no-cache");
+            res.setHeader("ETag", etag);
+            if (etag.equals(req.getHeader("If-None-Match"))) {
+                res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
         res.getWriter().append(result);
         res.getWriter().close();
     }
 
+    /**
+     * Returns the key of a page in the {@link PageCache}. Pages are rendered separately for every locale.
+     */
+    private String getPageKey(String sitemapName, String pageId, boolean async, HttpServletRequest req) {
+        return sitemapName + "/" + pageId + "/" + async + "/" + renderer.getLocale() + "/" + req.getLocale();
+    }
+
+    private PageCache.Page cachePage(String key, Sitemap sitemap, long generation, EList<Widget> children,
+            Set<String> itemNames, String content) {
+        PageCache.Page page = pageCache.createPage(sitemap, generation, content, itemNames);
+        // pages with charts, images or videos are not cached, as their content changes over time
+        if (renderer.isCacheable(children)) {
+            pageCache.put(key, page);
+        }
+        return page;
+    }
+
     @Override
     @Reference
     public void setItemRegistry(ItemRegistry ItemRegistry) {
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.types.State;
+import org.glassfish.jersey.media.sse.EventOutput;
+import org.openhab.ui.cometvisu.internal.backend.beans.StateBean;
+import org.openhab.ui.cometvisu.internal.util.SseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The item subscriptions of a single SSE connection of a CometVisu client.
+ *
+ * State updates are collected for a short time and sent as one event. Only the latest state of an item is kept until
+ * it has been sent, so a slow client gets fewer events instead of an ever growing queue.
+ *
+ * @author agent - Initial contribution
+ */
+class ClientSubscription {
+    private final Logger logger = LoggerFactory.getLogger(ClientSubscription.class);
+
+    /** time in milliseconds state updates are collected before they are sent to the client */
+    private static final long BATCH_WINDOW = 100;
+
+    private final ReadResource readResource;
+
+    private final EventOutput eventOutput;
+
+    private final ScheduledExecutorService scheduler;
+
+    /** the item names requested by the client (may contain a type prefix) by the name of the openHAB item */
+    private final Map<String, Map<String, Class<? extends State>>> items;
+
+    /** the states not sent yet by the item names requested by the client */
+    private final Map<String, String> pendingStates = new LinkedHashMap<String, String>();
+
+    /**
+     * true while an event is scheduled or being sent, so there is only one writer per connection. Set until the
+     * initial states have been sent, so no update is sent before them.
+     */
+    private boolean sending = true;
+
+    ClientSubscription(ReadResource readResource, EventOutput eventOutput, ScheduledExecutorService scheduler,
+            Map<String, Map<String, Class<? extends State>>> items) {
+        this.readResource = readResource;
+        this.eventOutput = eventOutput;
+        this.scheduler = scheduler;
+        this.items = items;
+    }
+
+    /**
+     * @return the names of the openHAB items the client is subscribed to
+     */
+    Set<String> getItemNames() {
+        return items.keySet();
+    }
+
+    boolean isSubscribed(String itemName) {
+        return items.containsKey(itemName);
+    }
+
+    boolean isClosed() {
+        return eventOutput.isClosed();
+    }
+
+    /**
+     * Sends the current states of the subscribed items to the client. Updates received in the meantime are held back
+     * and sent afterwards. If the event could not be written, the connection is closed and the subscription removed.
+     *
+     * @param states
+     *            - the states to send
+     * @throws IOException
+     *             if the event could not be written
+     */
+    void sendInitialStates(List<StateBean> states) throws IOException {
+        try {
+            send(states);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Closing SSE connection after failed write of the initial states: {}", e.getMessage());
+            abort();
+            throw e;
+        }
+        sent();
+    }
+
+    private void send(List<StateBean> states) throws IOException {
+        eventOutput.write(SseUtil.buildEvent(states));
+    }
+
+    /**
+     * queues the state of the given item, if the client is subscribed to it
+     *
+     * @param item
+     *            - the item which has changed
+     * @param typedOnly
+     *            - true, if the state should only be sent for item names with a type prefix (e.g. group updates
+     *            which do not change the plain state of the item)
+     */
+    void stateChanged(Item item, boolean typedOnly) {
+        Map<String, Class<? extends State>> clientItems = items.get(item.getName());
+        if (clientItems == null) {
+            return;
+        }
+        synchronized (this) {
+            for (Map.Entry<String, Class<? extends State>> entry : clientItems.entrySet()) {
+                Class<? extends State> stateClass = entry.getValue();
+                if (stateClass == null && typedOnly) {
+                    continue;
+                }
+                State state = stateClass != null ? item.getStateAs(stateClass) : item.getState();
+                if (state != null) {
+                    pendingStates.put(entry.getKey(), state.toString());
+                }
+            }
+            if (!sending && !pendingStates.isEmpty()) {
+                sending = true;
+                scheduler.schedule(this::flush, BATCH_WINDOW, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flush() {
+        List<StateBean> states = takePendingStates();
+        try {
+            if (!states.isEmpty()) {
+                send(states);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Closing SSE connection after failed write: {}", e.getMessage());
+            abort();
+            return;
+        }
+        sent();
+    }
+
+    private synchronized void sent() {
+        if (pendingStates.isEmpty()) {
+            sending = false;
+        } else {
+            // states changed while the event has been sent, the next event is sent after the batch window
+            scheduler.schedule(this::flush, BATCH_WINDOW, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void abort() {
+        synchronized (this) {
+            pendingStates.clear();
+        }
+        close();
+    }
+
+    private synchronized List<StateBean> takePendingStates() {
+        List<StateBean> states = new ArrayList<StateBean>(pendingStates.size());
+        for (Map.Entry<String, String> entry : pendingStates.entrySet()) {
+            StateBean stateBean = new StateBean();
+            stateBean.name = entry.getKey();
+            stateBean.state = entry.getValue();
+            states.add(stateBean);
+        }
+        pendingStates.clear();
+        return states;
+    }
+
+    /**
+     * closes the connection and removes the subscription
+     */
+    void close() {
+        try {
+            eventOutput.close();
+        } catch (IOException e) {
+            logger.debug("Error closing SSE connection: {}", e.getMessage());
+        }
+        readResource.removeClient(this);
+    }
+}
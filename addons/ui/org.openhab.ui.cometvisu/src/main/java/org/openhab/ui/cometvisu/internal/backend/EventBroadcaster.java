@@ -12,10 +12,7 @@
  */
 package org.openhab.ui.cometvisu.internal.backend;
 
-import java.util.Map;
-
 import org.eclipse.smarthome.core.items.Item;
-import org.eclipse.smarthome.core.types.State;
 
 /**
  * Broadcast state change events of items to listening clients
@@ -24,15 +21,16 @@ import org.eclipse.smarthome.core.types.State;
  */
 public interface EventBroadcaster {
     /**
-     * Broadcasts an event described by the given parameters to all currently
-     * listening clients.
+     * Broadcasts the state of the given item to all currently listening
+     * clients which requested the item.
      *
      * @param item
      *            - the item that should be broadcasted
-     * @param eventObject
-     *            - bean that can be converted to a JSON object.
+     * @param typedOnly
+     *            - true, if the state should only be sent for item names
+     *            with a type prefix
      */
-    public void broadcastEvent(final Object eventObject);
+    public void broadcastState(Item item, boolean typedOnly);
 
     /**
      * listens to state changes of the given item, if it is part of the
@@ -56,14 +54,4 @@ public interface EventBroadcaster {
      * listen for state changes from the requested items
      */
     public void registerItems();
-
-    /**
-     * lists all client item names and the associated type which must be notified
-     * when the item changes
-     *
-     * @param item
-     *            - the item that is listened to
-     * @return
-     */
-    public Map<String, Class<? extends State>> getClientItems(Item item);
 }
@@ -19,8 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -31,6 +30,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.UriInfo;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemFactory;
@@ -39,12 +39,10 @@ import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.openhab.ui.cometvisu.internal.Config;
 import org.openhab.ui.cometvisu.internal.backend.beans.StateBean;
 import org.openhab.ui.cometvisu.internal.listeners.StateEventListener;
-import org.openhab.ui.cometvisu.internal.util.SseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,17 +56,17 @@ import org.slf4j.LoggerFactory;
 public class ReadResource implements EventBroadcaster, RESTResource {
     private final Logger logger = LoggerFactory.getLogger(ReadResource.class);
 
-    private SseBroadcaster broadcaster = new SseBroadcaster();
+    private static final String THREADPOOL_NAME = "cometvisu";
 
-    private final ExecutorService executorService;
+    /** the subscriptions of all connected clients */
+    private final List<ClientSubscription> clients = new CopyOnWriteArrayList<ClientSubscription>();
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
 
     private ItemRegistry itemRegistry;
 
     private StateEventListener stateEventListener;
 
-    private List<String> itemNames = new ArrayList<String>();
-    private Map<Item, Map<String, Class<? extends State>>> items = new HashMap<Item, Map<String, Class<? extends State>>>();
-
     @Context
     private UriInfo uriInfo;
 
@@ -81,7 +79,6 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     private Collection<ItemFactory> itemFactories = new CopyOnWriteArrayList<ItemFactory>();
 
     public ReadResource() {
-        this.executorService = Executors.newSingleThreadExecutor();
         this.stateEventListener = new StateEventListener();
         this.stateEventListener.setEventBroadcaster(this);
     }
@@ -118,15 +115,10 @@ public class ReadResource implements EventBroadcaster, RESTResource {
             @QueryParam("t") long time) throws IOException, InterruptedException {
         final EventOutput eventOutput = new EventOutput();
 
-        this.itemNames = itemNames;
-
-        broadcaster.add(eventOutput);
-
         // get all requested items and send their states to the client
-        items = new HashMap<Item, Map<String, Class<? extends State>>>();
-        // send the current states of all items to the client
+        Map<String, Map<String, Class<? extends State>>> items = new HashMap<String, Map<String, Class<? extends State>>>();
+        List<StateBean> states = new ArrayList<StateBean>();
         if (this.itemRegistry != null) {
-            List<StateBean> states = new ArrayList<StateBean>();
             for (String cvItemName : itemNames) {
                 try {
                     String[] parts = cvItemName.split(":");
@@ -144,10 +136,10 @@ public class ReadResource implements EventBroadcaster, RESTResource {
                         ohItemName = parts[1];
                     }
                     Item item = this.itemRegistry.getItem(ohItemName);
-                    if (!items.containsKey(item)) {
-                        items.put(item, new HashMap<String, Class<? extends State>>());
+                    if (!items.containsKey(item.getName())) {
+                        items.put(item.getName(), new HashMap<String, Class<? extends State>>());
                     }
-                    items.get(item).put(cvItemName, stateClass);
+                    items.get(item.getName()).put(cvItemName, stateClass);
                     StateBean itemState = new StateBean();
                     itemState.name = cvItemName;
 
@@ -162,11 +154,22 @@ public class ReadResource implements EventBroadcaster, RESTResource {
                     logger.error("{}", e.getLocalizedMessage());
                 }
             }
-            logger.debug("initially broadcasting {}/{} item states", states.size(), itemNames.size());
-            broadcaster.broadcast(SseUtil.buildEvent(states));
         }
-        // listen to state changes of the requested items
-        registerItems();
+
+        // listen to state changes of the requested items before sending the current states, so that no change
+        // gets lost in between
+        ClientSubscription client = new ClientSubscription(this, eventOutput, scheduler, items);
+        synchronized (clients) {
+            clients.add(client);
+            if (this.itemRegistry != null) {
+                for (String itemName : items.keySet()) {
+                    registerItem(this.itemRegistry.get(itemName));
+                }
+            }
+        }
+
+        logger.debug("initially sending {}/{} item states", states.size(), itemNames.size());
+        client.sendInitialStates(states);
 
         return eventOutput;
     }
@@ -176,9 +179,12 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      */
     @Override
     public void registerItems() {
-        for (Item item : items.keySet()) {
-            if (item instanceof GenericItem) {
-                ((GenericItem) item).addStateChangeListener(stateEventListener);
+        if (this.itemRegistry == null) {
+            return;
+        }
+        for (ClientSubscription client : clients) {
+            for (String itemName : client.getItemNames()) {
+                registerItem(this.itemRegistry.get(itemName));
             }
         }
     }
@@ -192,7 +198,7 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      */
     @Override
     public void registerItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
+        if (item == null || !isSubscribed(item.getName())) {
             return;
         }
         if (item instanceof GenericItem) {
@@ -201,41 +207,63 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     }
 
     /**
-     * listens to state changes of the given item, if it is part of the
-     * requested items
+     * stops listening to state changes of the given item
      *
      * @param item
-     *            - the new item, that should be listened to
+     *            - the item, that should not be listened to anymore
      */
     @Override
     public void unregisterItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
-            return;
-        }
         if (item instanceof GenericItem) {
             ((GenericItem) item).removeStateChangeListener(stateEventListener);
-            items.remove(item);
         }
     }
 
     /**
-     * Broadcasts an event described by the given parameters to all currently
-     * listening clients.
+     * Sends the state of the given item to all clients which requested the item.
+     * The states are sent in batches, see {@link ClientSubscription}.
      *
      * @param item
      *            - the item which has changed
-     * @param eventObject
-     *            - bean that can be converted to a JSON object.
+     * @param typedOnly
+     *            - true, if the state should only be sent for item names with a type prefix
      */
     @Override
-    public void broadcastEvent(final Object eventObject) {
-        executorService.execute(() -> {
-            broadcaster.broadcast(SseUtil.buildEvent(eventObject));
-        });
+    public void broadcastState(Item item, boolean typedOnly) {
+        for (ClientSubscription client : clients) {
+            if (client.isClosed()) {
+                client.close();
+            } else {
+                client.stateChanged(item, typedOnly);
+            }
+        }
     }
 
-    @Override
-    public Map<String, Class<? extends State>> getClientItems(Item item) {
-        return items.get(item);
+    /**
+     * removes the subscription of a disconnected client and stops listening to the items no other client requested
+     *
+     * @param client
+     *            - the subscription of the disconnected client
+     */
+    void removeClient(ClientSubscription client) {
+        synchronized (clients) {
+            if (!clients.remove(client)) {
+                return;
+            }
+            for (String itemName : client.getItemNames()) {
+                if (!isSubscribed(itemName) && this.itemRegistry != null) {
+                    unregisterItem(this.itemRegistry.get(itemName));
+                }
+            }
+        }
+    }
+
+    private boolean isSubscribed(String itemName) {
+        for (ClientSubscription client : clients) {
+            if (client.isSubscribed(itemName)) {
+                return true;
+            }
+        }
+        return false;
     }
 }